@@ -0,0 +1,40 @@
+package com.bookingservice.bookingservice.DTO;
+
+import com.bookingservice.bookingservice.model.Booking;
+import jakarta.validation.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for booking listings: the (start_time, id) of the last
+ * row of the previous page, base64-encoded so clients treat it as a token.
+ */
+public record BookingCursor(OffsetDateTime startTime, UUID id) {
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getStartTime(), booking.getId());
+    }
+
+    public String encode() {
+        String raw = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new BookingCursor(
+                    OffsetDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor: " + cursor);
+        }
+    }
+}
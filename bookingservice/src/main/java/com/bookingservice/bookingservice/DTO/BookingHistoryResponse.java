@@ -0,0 +1,20 @@
+package com.bookingservice.bookingservice.DTO;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingHistoryResponse {
+    private UUID id;
+    private UUID bookingId;
+    private String oldStatus;   // null for the creation entry
+    private String newStatus;
+    private String metadata;
+    private OffsetDateTime changedAt;
+}
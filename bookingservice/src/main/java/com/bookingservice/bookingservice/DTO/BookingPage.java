@@ -0,0 +1,18 @@
+package com.bookingservice.bookingservice.DTO;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingPage implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private List<BookingResponse> items;
+    private String nextCursor;   // null when there are no more rows
+    private boolean hasMore;
+}
@@ -0,0 +1,31 @@
+package com.bookingservice.bookingservice.DTO;
+
+import com.bookingservice.bookingservice.model.Status;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkStatusChangeRequest {
+
+    public static final int MAX_BOOKINGS = 100;
+
+    @NotEmpty(message = "At least one booking id is required")
+    @Size(max = MAX_BOOKINGS, message = "At most " + MAX_BOOKINGS + " bookings can be changed at once")
+    private List<UUID> bookingIds;
+
+    @NotNull(message = "Target status is required")
+    private Status status; // CONFIRMED, REJECTED, COMPLETED, CANCELLED
+
+    private String reason;
+}
@@ -0,0 +1,19 @@
+package com.bookingservice.bookingservice.DTO;
+
+import com.bookingservice.bookingservice.model.Status;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusChangeResponse {
+    private Status status;
+    private List<UUID> updated;
+    private Map<UUID, String> skipped;   // booking id -> why it was not changed
+}
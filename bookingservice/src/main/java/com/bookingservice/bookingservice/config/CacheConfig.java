@@ -0,0 +1,63 @@
+package com.bookingservice.bookingservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded Caffeine backend for the {@code @Cacheable} regions. Each region gets
+ * its own size and TTL from {@code app.caches.regions.<name>}; any other cache
+ * name falls back to {@code app.caches.default-region}. Regions are created at
+ * startup with stats enabled so actuator publishes {@code cache.*} metrics for them.
+ * Setting {@code app.caches.provider} to anything other than {@code caffeine}
+ * disables this manager, so a remote cache can be configured in its place.
+ */
+@Configuration
+@Slf4j
+@EnableConfigurationProperties(CacheConfig.CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.caches.provider", havingValue = "caffeine", matchIfMissing = true)
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(builder(properties.getDefaultRegion()));
+        properties.getRegions().forEach((name, region) -> {
+            cacheManager.registerCustomCache(name, builder(region).build());
+            log.info("Cache region {}: max-size={}, ttl={}", name, region.getMaxSize(), region.getTtl());
+        });
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> builder(Region region) {
+        return Caffeine.newBuilder()
+                .maximumSize(region.getMaxSize())
+                .expireAfterWrite(region.getTtl())
+                .recordStats();
+    }
+
+    @Data
+    @ConfigurationProperties(prefix = "app.caches")
+    public static class CacheProperties {
+        private String provider = "caffeine";
+        private Region defaultRegion = new Region();
+        private Map<String, Region> regions = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Region {
+        private long maxSize = 1000;
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+}
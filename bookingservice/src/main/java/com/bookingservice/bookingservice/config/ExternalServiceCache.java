@@ -0,0 +1,63 @@
+package com.bookingservice.bookingservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Process-wide, size- and TTL-bounded cache of skill and user lookups made by
+ * {@link ExternalServiceClient}. Entries are also evicted as soon as a skill or
+ * user change arrives over Kafka; hit/miss/eviction counts are published as
+ * {@code cache.*} metrics.
+ */
+@Component
+@Slf4j
+@Getter
+public class ExternalServiceCache {
+
+    private final Cache<UUID, ExternalServiceClient.SkillDetails> skills;
+    private final Cache<UUID, Map<String, Object>> users;
+    private final Cache<UUID, Boolean> existingUsers;
+
+    public ExternalServiceCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.external-cache.max-size:5000}") long maxSize,
+            @Value("${app.external-cache.ttl:10m}") Duration ttl) {
+
+        this.skills = build(maxSize, ttl);
+        this.users = build(maxSize, ttl);
+        this.existingUsers = build(maxSize, ttl);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, skills, "externalSkills");
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "externalUsers");
+        CaffeineCacheMetrics.monitor(meterRegistry, existingUsers, "externalUserExists");
+    }
+
+    public void evictSkill(UUID skillId) {
+        skills.invalidate(skillId);
+        log.debug("Evicted cached skill {}", skillId);
+    }
+
+    public void evictUser(UUID userId) {
+        users.invalidate(userId);
+        existingUsers.invalidate(userId);
+        log.debug("Evicted cached user {}", userId);
+    }
+
+    private static <V> Cache<UUID, V> build(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -1,51 +1,192 @@
 package com.bookingservice.bookingservice.config;
 
+import com.bookingservice.bookingservice.exception.ExternalServiceUnavailableException;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeoutException;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class ExternalServiceClient {
+    // Batch endpoints only answer signed-in users or services presenting the shared token
+    private static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
     private final WebClient webClientBuilder;
+    private final ExternalServiceCache cache;
+
+    @Value("${app.service-token:}")
+    private String serviceToken;
+
+    // Applied to the request itself, so a slow service releases the connection and the
+    // waiting thread instead of running on after the caller has given up
+    @Value("${app.remote-checks.call-timeout:2s}")
+    private Duration callTimeout;
+
+    // The batch endpoints reject larger requests, so bigger id sets are split
+    @Value("${app.batch.max-ids:500}")
+    private int batchMaxIds;
 
     public boolean validateUser(UUID userId) {
+        // Only positive answers are cached; a miss may be a transient failure
+        if (cache.getExistingUsers().getIfPresent(userId) != null) {
+            return true;
+        }
         try {
-            return Boolean.TRUE.equals(webClientBuilder
+            boolean exists = Boolean.TRUE.equals(webClientBuilder
                     .get()
                     .uri("/api/users/{id}/exists", userId)
                     .retrieve()
                     .bodyToMono(Boolean.class)
+                    .timeout(callTimeout)
                     .block());
+            if (exists) {
+                cache.getExistingUsers().put(userId, Boolean.TRUE);
+            }
+            return exists;
         } catch (Exception e) {
+            rethrowIfTimedOut(e, "User service did not answer for user " + userId);
             log.error("Failed to validate user {}: {}", userId, e.getMessage());
             return false;
         }
     }
 
     public SkillDetails getSkill(UUID skillId) {
+        return cache.getSkills().get(skillId, this::fetchSkill);
+    }
+
+    private SkillDetails fetchSkill(UUID skillId) {
         try {
             return webClientBuilder
                     .get()
                     .uri("http://SKILLSERVICE/api/search/{id}", skillId)
                     .retrieve()
                     .bodyToMono(SkillDetails.class)
+                    .timeout(callTimeout)
                     .block();
         } catch (Exception e) {
+            rethrowIfTimedOut(e, "Skill service did not answer for skill " + skillId);
             log.error("Failed to fetch skill {}: {}", skillId, e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Resolves many skills with one call to skillservice per {@code app.batch.max-ids}
+     * ids. Cached skills are served locally and only the missing ids are requested.
+     * The returned Mono never errors: a chunk that fails or times out contributes
+     * nothing, so callers get what the cache and the other chunks had and fall back
+     * to placeholder values for the rest.
+     */
+    public Mono<Map<UUID, SkillDetails>> getSkills(Collection<UUID> skillIds) {
+        if (skillIds == null || skillIds.isEmpty()) {
+            return Mono.just(Collections.emptyMap());
+        }
+
+        Map<UUID, SkillDetails> cached = new HashMap<>(cache.getSkills().getAllPresent(skillIds));
+        List<UUID> missing = skillIds.stream().filter(id -> !cached.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return Mono.just(cached);
+        }
+
+        return Flux.fromIterable(chunks(missing))
+                .flatMap(chunk -> webClientBuilder
+                        .post()
+                        .uri("http://SKILLSERVICE/api/search/batch")
+                        .header(SERVICE_TOKEN_HEADER, serviceToken)
+                        .bodyValue(chunk)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<List<SkillDetails>>() {})
+                        .timeout(callTimeout)
+                        .onErrorResume(e -> {
+                            log.error("Failed to fetch {} skills in batch: {}", chunk.size(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .collectList()
+                .map(responses -> {
+                    responses.forEach(skills -> skills.forEach(skill -> {
+                        cache.getSkills().put(skill.getId(), skill);
+                        cached.put(skill.getId(), skill);
+                    }));
+                    return cached;
+                });
+    }
+
+    /**
+     * Resolves many user profiles with one call to userprofile per
+     * {@code app.batch.max-ids} ids, requesting only ids that are not cached. Ids
+     * missing from the responses (or from a chunk whose call failed) get the usual
+     * fallback details, which are not cached.
+     */
+    public Mono<Map<UUID, Map<String, Object>>> getUserDetails(Collection<UUID> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Mono.just(Collections.emptyMap());
+        }
+
+        Map<UUID, Map<String, Object>> cached = new HashMap<>(cache.getUsers().getAllPresent(userIds));
+        List<UUID> missing = userIds.stream().filter(id -> !cached.containsKey(id)).toList();
+        if (missing.isEmpty()) {
+            return Mono.just(cached);
+        }
+
+        return Flux.fromIterable(chunks(missing))
+                .flatMap(chunk -> webClientBuilder
+                        .post()
+                        .uri("http://USERPROFILE/api/users/batch")
+                        .header(SERVICE_TOKEN_HEADER, serviceToken)
+                        .bodyValue(chunk)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
+                        .timeout(callTimeout)
+                        .onErrorResume(e -> {
+                            log.error("Failed to fetch {} user profiles in batch: {}", chunk.size(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .collectList()
+                .map(responses -> {
+                    for (List<Map<String, Object>> profiles : responses) {
+                        for (Map<String, Object> profile : profiles) {
+                            Object id = profile.get("userId");
+                            if (id != null) {
+                                UUID userId = UUID.fromString(id.toString());
+                                Map<String, Object> userDetails = toUserDetails(userId, profile);
+                                cache.getUsers().put(userId, userDetails);
+                                cached.put(userId, userDetails);
+                            }
+                        }
+                    }
+                    for (UUID userId : missing) {
+                        cached.computeIfAbsent(userId, this::getFallbackUserDetails);
+                    }
+                    return cached;
+                });
+    }
+
     public Map<String, Object> getUserDetails(UUID userId) {
+        Map<String, Object> userDetails = cache.getUsers().get(userId, this::fetchUserDetails);
+        return userDetails != null ? userDetails : getFallbackUserDetails(userId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> fetchUserDetails(UUID userId) {
         try {
             log.info(" Fetching user details for userId: {}", userId);
 
@@ -54,41 +195,61 @@ public class ExternalServiceClient {
                     .uri("http://USERPROFILE/api/users/{id}", userId)
                     .retrieve()
                     .bodyToMono(Map.class)
+                    .timeout(callTimeout)
                     .block();
 
             if (response != null) {
-                Map<String, Object> userDetails = new HashMap<>();
-
-                // Extract name from "displayName" field
-                String name = (String) response.get("displayName");
-                userDetails.put("name", name != null ? name : "Unknown User");
-
-                // Extract email - check if your ProfileDto has email field
-                String email = (String) response.get("email");
-                if (email == null) {
-                    // Fallback: construct email from userId if not available
-                    email = "user-" + userId.toString().substring(0, 8) + "@example.com";
-                }
-                userDetails.put("email", email);
-
-                userDetails.put("id", response.get("userId"));
-
-                log.info(" Fetched user details: name={}, email={}", name, email);
+                Map<String, Object> userDetails = toUserDetails(userId, response);
+                log.info(" Fetched user details: name={}, email={}", userDetails.get("name"), userDetails.get("email"));
                 return userDetails;
             } else {
                 log.warn(" User Service returned null for userId: {}", userId);
-                return getFallbackUserDetails(userId);
+                return null;
             }
 
         } catch (WebClientResponseException e) {
             log.error(" User Service error for userId: {}. Status: {}, Body: {}",
                     userId, e.getStatusCode(), e.getResponseBodyAsString());
-            return getFallbackUserDetails(userId);
+            return null;
         } catch (Exception e) {
             log.error(" Failed to fetch user details for userId: {}. Error: {}",
                     userId, e.getMessage());
-            return getFallbackUserDetails(userId);
+            return null;
+        }
+    }
+
+    private List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchMaxIds) {
+            chunks.add(ids.subList(from, Math.min(from + batchMaxIds, ids.size())));
+        }
+        return chunks;
+    }
+
+    // A timeout is not a "no": callers must be able to tell it apart from a missing user or skill
+    private void rethrowIfTimedOut(Exception e, String message) {
+        if (Exceptions.unwrap(e) instanceof TimeoutException) {
+            throw new ExternalServiceUnavailableException(message, e);
+        }
+    }
+
+    private Map<String, Object> toUserDetails(UUID userId, Map<String, Object> profile) {
+        Map<String, Object> userDetails = new HashMap<>();
+
+        // Extract name from "displayName" field
+        String name = (String) profile.get("displayName");
+        userDetails.put("name", name != null ? name : "Unknown User");
+
+        // Extract email - check if your ProfileDto has email field
+        String email = (String) profile.get("email");
+        if (email == null) {
+            // Fallback: construct email from userId if not available
+            email = "user-" + userId.toString().substring(0, 8) + "@example.com";
         }
+        userDetails.put("email", email);
+
+        userDetails.put("id", profile.get("userId"));
+        return userDetails;
     }
 
     private Map<String, Object> getFallbackUserDetails(UUID userId) {
@@ -2,17 +2,29 @@ package com.bookingservice.bookingservice.controller;
 
 
 import com.bookingservice.bookingservice.DTO.BookingCreateRequest;
+import com.bookingservice.bookingservice.DTO.BookingHistoryResponse;
+import com.bookingservice.bookingservice.DTO.BookingPage;
 import com.bookingservice.bookingservice.DTO.BookingResponse;
+import com.bookingservice.bookingservice.DTO.BulkStatusChangeRequest;
+import com.bookingservice.bookingservice.DTO.BulkStatusChangeResponse;
+import com.bookingservice.bookingservice.model.Status;
+import com.bookingservice.bookingservice.service.BookingExportService;
 import com.bookingservice.bookingservice.service.BookingService;
 import jakarta.validation.Valid;
+import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -24,6 +36,7 @@ import java.util.UUID;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
 
     // ==================== STUDENT ENDPOINTS ====================
 
@@ -31,12 +44,13 @@ public class BookingController {
     @PreAuthorize("hasAnyRole('STUDENT', 'ADMIN')")
     public ResponseEntity<BookingResponse> createBooking(
             Authentication authentication,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody BookingCreateRequest request) {
 
         UUID studentId = (UUID) authentication.getPrincipal();
         log.info("Student {} creating booking for skill {}", studentId, request.getSkillId());
 
-        BookingResponse response = bookingService.createBooking(studentId, request);
+        BookingResponse response = bookingService.createBooking(studentId, request, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -48,6 +62,20 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getBookingsByUser(studentId));
     }
 
+    @GetMapping("/my-bookings/page")
+    @PreAuthorize("hasAnyRole('STUDENT', 'ADMIN')")
+    public ResponseEntity<BookingPage> getMyBookingsPage(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BookingService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        UUID studentId = (UUID) authentication.getPrincipal();
+        log.info("Student {} fetching booking page", studentId);
+        return ResponseEntity.ok(bookingService.getBookingPageByUser(studentId, cursor, size, status, from, to));
+    }
+
     @PutMapping("/{id}/cancel-student")
     @PreAuthorize("hasAnyRole('STUDENT', 'ADMIN')")
     public ResponseEntity<BookingResponse> cancelBookingByStudent(
@@ -69,6 +97,20 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getBookingsByProvider(teacherId));
     }
 
+    @GetMapping("/my-provider-bookings/page")
+    @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
+    public ResponseEntity<BookingPage> getMyProviderBookingsPage(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BookingService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        UUID teacherId = (UUID) authentication.getPrincipal();
+        log.info("Teacher {} fetching booking request page", teacherId);
+        return ResponseEntity.ok(bookingService.getBookingPageByProvider(teacherId, cursor, size, status, from, to));
+    }
+
     @PutMapping("/{id}/accept")
     @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
     public ResponseEntity<BookingResponse> acceptBooking(
@@ -123,6 +165,16 @@ public class BookingController {
         return ResponseEntity.ok(bookingResponse);
     }
 
+    @PutMapping("/bulk-status")
+    @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
+    public ResponseEntity<BulkStatusChangeResponse> bulkChangeStatus(
+            @Valid @RequestBody BulkStatusChangeRequest request,
+            Authentication authentication) {
+        UUID teacherId = (UUID) authentication.getPrincipal();
+        log.info("Teacher {} changing {} bookings to {}", teacherId, request.getBookingIds().size(), request.getStatus());
+        return ResponseEntity.ok(bookingService.bulkChangeStatus(teacherId, request));
+    }
+
     // ==================== ADMIN ENDPOINTS ====================
 
     @GetMapping("/all")
@@ -132,6 +184,26 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getAllBookings());
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        BookingExportService.Format exportFormat = BookingExportService.Format.from(format);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("'from' must be before 'to'");
+        }
+        log.info("Admin exporting bookings as {} (from={}, to={})", exportFormat, from, to);
+
+        StreamingResponseBody body = out -> bookingExportService.export(exportFormat, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getBookingStats() {
@@ -173,4 +245,16 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getBooking(id, requesterId));
     }
 
+    @GetMapping("/{id}/history")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<BookingHistoryResponse>> getBookingHistory(
+            @PathVariable UUID id,
+            Authentication authentication) {
+        UUID requesterId = (UUID) authentication.getPrincipal();
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        log.info("User {} fetching history of booking {}", requesterId, id);
+        return ResponseEntity.ok(bookingService.getBookingHistory(id, requesterId, admin));
+    }
+
 }
@@ -0,0 +1,7 @@
+package com.bookingservice.bookingservice.exception;
+
+public class BookingConflictException extends RuntimeException {
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
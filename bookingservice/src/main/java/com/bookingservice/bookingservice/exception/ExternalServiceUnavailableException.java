@@ -0,0 +1,7 @@
+package com.bookingservice.bookingservice.exception;
+
+public class ExternalServiceUnavailableException extends RuntimeException {
+    public ExternalServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
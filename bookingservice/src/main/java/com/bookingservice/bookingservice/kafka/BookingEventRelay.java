@@ -0,0 +1,157 @@
+package com.bookingservice.bookingservice.kafka;
+
+import com.bookingservice.bookingservice.config.ExternalServiceClient;
+import com.bookingservice.bookingservice.events.BookingCreatedEvent;
+import com.bookingservice.bookingservice.events.BookingReminderEvent;
+import com.bookingservice.bookingservice.events.BookingStatusChangedEvent;
+import com.bookingservice.bookingservice.model.OutboxEvent;
+import com.bookingservice.bookingservice.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes rows from the booking outbox to Kafka. Skill and user names are
+ * resolved here, once per batch, so the booking request path never waits on
+ * downstream services or the broker. A row is deleted only after the broker
+ * acknowledges it; failures are retried with backoff, which gives at-least-once
+ * delivery, and rows that keep failing are moved to the outbox dead-letter table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingEventRelay {
+
+    private final OutboxService outboxService;
+    private final ExternalServiceClient externalClient;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${kafka.topic.booking-events}")
+    private String bookingEventsTopic;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        List<OutboxEvent> batch = outboxService.claimBatch(batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Object> events = new LinkedHashMap<>();
+        for (OutboxEvent row : batch) {
+            try {
+                events.put(row.getId(), read(row));
+            } catch (Exception e) {
+                log.error("Unreadable outbox row {} ({})", row.getId(), row.getEventType(), e);
+                outboxService.markFailed(row.getId(), e.getMessage());
+            }
+        }
+
+        enrich(events.values());
+
+        Map<UUID, CompletableFuture<SendResult<String, Object>>> sends = new LinkedHashMap<>();
+        for (OutboxEvent row : batch) {
+            Object event = events.get(row.getId());
+            if (event != null) {
+                sends.put(row.getId(), kafkaTemplate.send(bookingEventsTopic, row.getMessageKey(), event));
+            }
+        }
+
+        List<UUID> published = new ArrayList<>();
+        sends.forEach((id, future) -> {
+            try {
+                future.get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                published.add(id);
+            } catch (Exception e) {
+                log.warn("Outbox row {} not acknowledged: {}", id, e.getMessage());
+                outboxService.markFailed(id, e.getMessage());
+            }
+        });
+
+        outboxService.markPublished(published);
+        log.debug("Relayed {}/{} booking events", published.size(), batch.size());
+    }
+
+    private Object read(OutboxEvent row) throws Exception {
+        return switch (row.getEventType()) {
+            case OutboxService.BOOKING_CREATED -> outboxService.readPayload(row, BookingCreatedEvent.class);
+            case OutboxService.BOOKING_STATUS_CHANGED -> outboxService.readPayload(row, BookingStatusChangedEvent.class);
+            case OutboxService.BOOKING_REMINDER -> outboxService.readPayload(row, BookingReminderEvent.class);
+            default -> throw new IllegalArgumentException("Unknown outbox event type " + row.getEventType());
+        };
+    }
+
+    // Fills in names and emails with one bulk call per downstream service for the whole batch
+    private void enrich(Collection<Object> events) {
+        Set<UUID> skillIds = new HashSet<>();
+        Set<UUID> userIds = new HashSet<>();
+        for (Object event : events) {
+            if (event instanceof BookingCreatedEvent e) {
+                skillIds.add(e.getSkillId());
+                userIds.add(e.getUserId());
+                userIds.add(e.getProviderId());
+            } else if (event instanceof BookingStatusChangedEvent e) {
+                skillIds.add(e.getSkillId());
+                userIds.add(e.getUserId());
+                userIds.add(e.getProviderId());
+            } else if (event instanceof BookingReminderEvent e) {
+                skillIds.add(e.getSkillId());
+                userIds.add(e.getUserId());
+                userIds.add(e.getProviderId());
+            }
+        }
+
+        Tuple2<Map<UUID, ExternalServiceClient.SkillDetails>, Map<UUID, Map<String, Object>>> lookups =
+                Mono.zip(externalClient.getSkills(skillIds), externalClient.getUserDetails(userIds)).block();
+        Map<UUID, ExternalServiceClient.SkillDetails> skills = lookups != null ? lookups.getT1() : Map.of();
+        Map<UUID, Map<String, Object>> users = lookups != null ? lookups.getT2() : Map.of();
+
+        for (Object event : events) {
+            if (event instanceof BookingCreatedEvent e) {
+                Map<String, Object> user = users.getOrDefault(e.getUserId(), Map.of());
+                Map<String, Object> provider = users.getOrDefault(e.getProviderId(), Map.of());
+                e.setUserName((String) user.get("name"));
+                e.setUserEmail((String) user.get("email"));
+                e.setProviderName((String) provider.get("name"));
+                e.setProviderEmail((String) provider.get("email"));
+                e.setSkillName(skillName(skills.get(e.getSkillId())));
+            } else if (event instanceof BookingStatusChangedEvent e) {
+                Map<String, Object> user = users.getOrDefault(e.getUserId(), Map.of());
+                Map<String, Object> provider = users.getOrDefault(e.getProviderId(), Map.of());
+                e.setUserName((String) user.getOrDefault("name", "User"));
+                e.setUserEmail((String) user.getOrDefault("email", "user@example.com"));
+                e.setProviderName((String) provider.getOrDefault("name", "Provider"));
+                e.setProviderEmail((String) provider.getOrDefault("email", "provider@example.com"));
+                e.setSkillName(skillName(skills.get(e.getSkillId())));
+            } else if (event instanceof BookingReminderEvent e) {
+                Map<String, Object> user = users.getOrDefault(e.getUserId(), Map.of());
+                Map<String, Object> provider = users.getOrDefault(e.getProviderId(), Map.of());
+                e.setUserName((String) user.getOrDefault("name", "User"));
+                e.setUserEmail((String) user.getOrDefault("email", "user@example.com"));
+                e.setProviderName((String) provider.getOrDefault("name", "Provider"));
+                e.setProviderEmail((String) provider.getOrDefault("email", "provider@example.com"));
+                e.setSkillName(skillName(skills.get(e.getSkillId())));
+            }
+        }
+    }
+
+    private String skillName(ExternalServiceClient.SkillDetails skill) {
+        return skill != null ? skill.getName() : "Unknown Skill";
+    }
+}
@@ -0,0 +1,40 @@
+package com.bookingservice.bookingservice.kafka;
+
+import com.bookingservice.bookingservice.config.ExternalServiceCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SkillEventConsumer {
+
+    private final ExternalServiceCache externalServiceCache;
+    private final ObjectMapper objectMapper;
+
+    // The skill cache is local to each instance, so every instance needs every event:
+    // a group of its own per instance, starting from new events only
+    @KafkaListener(topics = "${kafka.topic.skill-events:skill-events}",
+            groupId = "booking-cache-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest")
+    public void handleSkillEvent(String message) {
+        try {
+            JsonNode event = objectMapper.readTree(message);
+            String eventType = event.path("eventType").asText();
+
+            if ("SKILL_UPDATED".equals(eventType) || "SKILL_DELETED".equals(eventType)) {
+                UUID skillId = UUID.fromString(event.path("skillId").asText());
+                externalServiceCache.evictSkill(skillId);
+                log.info("Received {} for skill {}, cached details evicted", eventType, skillId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to process skill event: {}", e.getMessage());
+        }
+    }
+}
@@ -1,34 +1,39 @@
 package com.bookingservice.bookingservice.kafka;
 
+import com.bookingservice.bookingservice.config.ExternalServiceCache;
 import com.bookingservice.bookingservice.events.UserDeletedEvent;
-import com.bookingservice.bookingservice.repository.BookingRepository;
+import com.bookingservice.bookingservice.service.UserBookingPurgeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class UserEventConsumer {
 
-    private final BookingRepository bookingRepository;
+    private final ExternalServiceCache externalServiceCache;
+    private final UserBookingPurgeService userBookingPurgeService;
 
+    // The user cache is local to each instance, so eviction listens in a group of its own per instance
+    @KafkaListener(topics = "${kafka.topic.user-deleted:user-deleted}",
+            groupId = "booking-cache-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest")
+    public void evictDeletedUser(UserDeletedEvent event) {
+        externalServiceCache.evictUser(event.getUserId());
+        log.debug("Cached details of deleted user {} evicted", event.getUserId());
+    }
+
+    // The purge runs once per event, in the shared group
     @KafkaListener(topics = "${kafka.topic.user-deleted:user-deleted}", groupId = "booking-service-group")
-    @Transactional
     public void handleUserDeleted(UserDeletedEvent event) {
         log.info("Received UserDeletedEvent for userId: {}", event.getUserId());
         try {
-            // Delete bookings where user is the student
-            bookingRepository.deleteByUserId(event.getUserId());
-            log.info("Deleted student bookings for userId: {}", event.getUserId());
-
-            // Delete bookings where user is the provider
-            bookingRepository.deleteByProviderId(event.getUserId());
-            log.info("Deleted provider bookings for userId: {}", event.getUserId());
-
+            // Deletes bookings where the user is the student or the provider, in committed chunks
+            userBookingPurgeService.purge(event.getUserId());
         } catch (Exception e) {
+            // Progress is recorded per chunk; the purge is resumed later from where it stopped
             log.error("Failed to delete bookings for userId: {}", event.getUserId(), e);
         }
     }
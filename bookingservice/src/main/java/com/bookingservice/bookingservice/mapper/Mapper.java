@@ -1,7 +1,9 @@
 package com.bookingservice.bookingservice.mapper;
 
+import com.bookingservice.bookingservice.DTO.BookingHistoryResponse;
 import com.bookingservice.bookingservice.DTO.BookingResponse;
 import com.bookingservice.bookingservice.model.Booking;
+import com.bookingservice.bookingservice.model.BookingHistory;
 
 public class
 Mapper {
@@ -25,4 +27,15 @@ Mapper {
                 .updatedAt(booking.getUpdatedAt())
                 .build();
     }
+
+    public static BookingHistoryResponse toHistoryResponse(BookingHistory history) {
+        return BookingHistoryResponse.builder()
+                .id(history.getId())
+                .bookingId(history.getBookingId())
+                .oldStatus(history.getOldStatus())
+                .newStatus(history.getNewStatus())
+                .metadata(history.getMetadata())
+                .changedAt(history.getChangedAt())
+                .build();
+    }
 }
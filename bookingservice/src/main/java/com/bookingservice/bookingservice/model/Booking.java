@@ -9,11 +9,55 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
+@NamedNativeQuery(
+        name = "Booking.transitionAsProvider",
+        query = """
+                WITH prev AS (SELECT id, status FROM bookings WHERE id = :id FOR UPDATE)
+                UPDATE bookings b SET status = :newStatus, updated_at = now()
+                FROM prev
+                WHERE b.id = prev.id AND b.provider_id = :ownerId AND b.status IN (:fromStatuses)
+                RETURNING b.*, prev.status AS old_status
+                """,
+        resultSetMapping = "Booking.transition")
+@NamedNativeQuery(
+        name = "Booking.transitionAsStudent",
+        query = """
+                WITH prev AS (SELECT id, status FROM bookings WHERE id = :id FOR UPDATE)
+                UPDATE bookings b SET status = :newStatus, updated_at = now()
+                FROM prev
+                WHERE b.id = prev.id AND b.user_id = :ownerId AND b.status IN (:fromStatuses)
+                RETURNING b.*, prev.status AS old_status
+                """,
+        resultSetMapping = "Booking.transition")
+// Bulk variant: locks the matching rows in id order (so concurrent bulk calls cannot deadlock)
+// and returns each changed booking with the status it actually had when it was locked
+@NamedNativeQuery(
+        name = "Booking.transitionBulkAsProvider",
+        query = """
+                WITH prev AS (
+                    SELECT id, status FROM bookings
+                    WHERE id IN (:ids) AND provider_id = :ownerId AND status IN (:fromStatuses)
+                    ORDER BY id
+                    FOR UPDATE)
+                UPDATE bookings b SET status = :newStatus, updated_at = now()
+                FROM prev
+                WHERE b.id = prev.id
+                RETURNING b.*, prev.status AS old_status
+                """,
+        resultSetMapping = "Booking.transition")
+@SqlResultSetMapping(
+        name = "Booking.transition",
+        entities = @EntityResult(entityClass = Booking.class),
+        columns = @ColumnResult(name = "old_status", type = String.class))
 @Table(name = "bookings", indexes = {
         @Index(name = "idx_user_id", columnList = "user_id"),
         @Index(name = "idx_provider_id", columnList = "provider_id"),
         @Index(name = "idx_skill_id", columnList = "skill_id"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_user_start_time", columnList = "user_id, start_time"),
+        @Index(name = "idx_provider_status_start_time", columnList = "provider_id, status, start_time"),
+        @Index(name = "idx_status_start_time", columnList = "status, start_time"),
+        @Index(name = "idx_status_end_time", columnList = "status, end_time")
 })
 @Getter
 @Setter
@@ -54,6 +98,9 @@ public class Booking {
     @Column(nullable = false, length = 20)
     private Status status;
 
+    @Column(name = "reminder_sent_at")
+    private OffsetDateTime reminderSentAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
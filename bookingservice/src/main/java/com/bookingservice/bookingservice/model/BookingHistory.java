@@ -7,8 +7,15 @@ import lombok.*;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
+/**
+ * Status change log. In Postgres the table is range-partitioned by month on
+ * {@code changed_at} (see {@code BookingHistoryPartitionManager}), so its
+ * physical primary key is (id, changed_at).
+ */
 @Entity
-@Table(name = "booking_history")
+@Table(name = "booking_history", indexes = {
+        @Index(name = "idx_history_booking_changed", columnList = "booking_id, changed_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
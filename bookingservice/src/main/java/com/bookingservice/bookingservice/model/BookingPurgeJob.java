@@ -0,0 +1,47 @@
+package com.bookingservice.bookingservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of removing a deleted user's bookings. Bookings are removed in
+ * chunks that each commit on their own, so a RUNNING row means the purge was
+ * interrupted and is picked up again by {@code UserBookingPurgeService}.
+ */
+@Entity
+@Table(name = "booking_purge_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingPurgeJob {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "deleted_bookings", nullable = false)
+    private long deletedBookings;
+
+    @Column(name = "deleted_history", nullable = false)
+    private long deletedHistory;
+
+    @Column(name = "started_at", nullable = false)
+    private OffsetDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+}
@@ -0,0 +1,47 @@
+package com.bookingservice.bookingservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Number of bookings per status and the sum of their total price, spread over
+ * {@code app.booking-stats.slots} rows per status. Each increment lands in a random
+ * slot, so concurrent booking transactions rarely wait on the same row; readers sum
+ * the slots. Maintained incrementally by {@code BookingStatsService} and reconciled
+ * periodically against {@code bookings}.
+ */
+@Entity
+@Table(name = "booking_stat_slots")
+@IdClass(BookingStats.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingStats {
+
+    @Id
+    @Column(length = 20)
+    private String status;
+
+    @Id
+    @Column(name = "slot")
+    private int slot;
+
+    @Column(name = "booking_count", nullable = false)
+    private long bookingCount;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String status;
+        private int slot;
+    }
+}
@@ -0,0 +1,50 @@
+package com.bookingservice.bookingservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox row that ran out of publish attempts. The payload is kept as written,
+ * so the event can be inspected and re-queued instead of being lost.
+ */
+@Entity
+@Table(name = "booking_outbox_dead_letters", indexes = {
+        @Index(name = "idx_outbox_dead_letters_booking", columnList = "booking_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxDeadLetter {
+
+    @Id
+    private UUID id;            // id of the original outbox row
+
+    @Column(name = "booking_id", nullable = false)
+    private UUID bookingId;
+
+    @Column(name = "event_type", nullable = false, length = 40)
+    private String eventType;
+
+    @Column(name = "message_key", nullable = false, length = 40)
+    private String messageKey;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "failed_at", nullable = false)
+    private OffsetDateTime failedAt;
+}
@@ -0,0 +1,59 @@
+package com.bookingservice.bookingservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Booking event waiting to be published to Kafka. Rows are written in the same
+ * transaction as the booking change and deleted by the relay once the broker
+ * has acknowledged them.
+ */
+@Entity
+@Table(name = "booking_outbox", indexes = {
+        @Index(name = "idx_outbox_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "booking_id", nullable = false)
+    private UUID bookingId;
+
+    @Column(name = "event_type", nullable = false, length = 40)
+    private String eventType;   // BOOKING_CREATED, BOOKING_STATUS_CHANGED
+
+    @Column(name = "message_key", nullable = false, length = 40)
+    private String messageKey;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;     // event JSON without user/skill names, filled in by the relay
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "locked_until")
+    private OffsetDateTime lockedUntil;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = OffsetDateTime.now();
+        }
+    }
+}
@@ -2,9 +2,21 @@ package com.bookingservice.bookingservice.repository;
 
 import com.bookingservice.bookingservice.model.BookingHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 @Repository
 public interface BookingHistoryRepository extends JpaRepository<BookingHistory, UUID> {
+
+    // Served by idx_history_booking_changed (booking_id, changed_at)
+    List<BookingHistory> findByBookingIdOrderByChangedAtAsc(UUID bookingId);
+
+    @Modifying
+    @Query("DELETE FROM BookingHistory h WHERE h.bookingId IN :bookingIds")
+    int deleteByBookingIdIn(@Param("bookingIds") Collection<UUID> bookingIds);
 }
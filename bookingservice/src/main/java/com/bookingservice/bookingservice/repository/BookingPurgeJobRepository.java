@@ -0,0 +1,25 @@
+package com.bookingservice.bookingservice.repository;
+
+import com.bookingservice.bookingservice.model.BookingPurgeJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BookingPurgeJobRepository extends JpaRepository<BookingPurgeJob, UUID> {
+
+    // Serializes chunks for one user between the Kafka consumer and the resume job
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM BookingPurgeJob j WHERE j.userId = :userId")
+    Optional<BookingPurgeJob> lockByUserId(@Param("userId") UUID userId);
+
+    List<BookingPurgeJob> findByStatusAndUpdatedAtBefore(String status, OffsetDateTime before);
+}
@@ -1,21 +1,141 @@
 package com.bookingservice.bookingservice.repository;
 
 import com.bookingservice.bookingservice.model.Booking;
+import com.bookingservice.bookingservice.model.Status;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, UUID> {
+public interface BookingRepository extends JpaRepository<Booking, UUID>, JpaSpecificationExecutor<Booking> {
     List<Booking> findByUserId(UUID userId);
 
     List<Booking> findByProviderId(UUID providerId);
 
     List<Booking> findBySkillId(UUID skillId);
 
-    void deleteByUserId(UUID userId);
+    interface BookingParticipants {
+        UUID getId();
+        UUID getUserId();
+        UUID getProviderId();
+    }
 
-    void deleteByProviderId(UUID providerId);
+    @Query("SELECT b.id AS id, b.userId AS userId, b.providerId AS providerId FROM Booking b "
+            + "WHERE b.userId = :userId OR b.providerId = :userId")
+    List<BookingParticipants> findParticipantsByUser(@Param("userId") UUID userId, Pageable chunk);
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Compare-and-set transitions backed by the named native queries on Booking. Each returns
+    // at most one [Booking, oldStatus] row, and none when the booking is missing, owned by
+    // someone else or not in one of fromStatuses.
+    List<Object[]> transitionAsProvider(@Param("id") UUID id,
+                                        @Param("ownerId") UUID providerId,
+                                        @Param("fromStatuses") Collection<String> fromStatuses,
+                                        @Param("newStatus") String newStatus);
+
+    List<Object[]> transitionAsStudent(@Param("id") UUID id,
+                                       @Param("ownerId") UUID userId,
+                                       @Param("fromStatuses") Collection<String> fromStatuses,
+                                       @Param("newStatus") String newStatus);
+
+    // ---- Lifecycle sweeps: claim one page of due rows (SKIP LOCKED, so replicas never
+    // ---- share a row) and update them in the same statement
+
+    @Query(value = """
+            WITH due AS (
+                SELECT id FROM bookings
+                WHERE status = 'PENDING' AND start_time < :now
+                ORDER BY start_time
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            UPDATE bookings b SET status = 'CANCELLED', updated_at = now()
+            FROM due WHERE b.id = due.id
+            RETURNING b.*
+            """, nativeQuery = true)
+    List<Booking> expireStalePending(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    @Query(value = """
+            WITH due AS (
+                SELECT id FROM bookings
+                WHERE status = 'CONFIRMED' AND end_time < :endedBefore
+                ORDER BY end_time
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            UPDATE bookings b SET status = 'COMPLETED', updated_at = now()
+            FROM due WHERE b.id = due.id
+            RETURNING b.*
+            """, nativeQuery = true)
+    List<Booking> completeElapsedConfirmed(@Param("endedBefore") OffsetDateTime endedBefore, @Param("limit") int limit);
+
+    @Query(value = """
+            WITH due AS (
+                SELECT id FROM bookings
+                WHERE status = 'CONFIRMED' AND start_time >= :now AND start_time < :until
+                  AND reminder_sent_at IS NULL
+                ORDER BY start_time
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            UPDATE bookings b SET reminder_sent_at = now()
+            FROM due WHERE b.id = due.id
+            RETURNING b.*
+            """, nativeQuery = true)
+    List<Booking> claimDueReminders(@Param("now") OffsetDateTime now,
+                                    @Param("until") OffsetDateTime until,
+                                    @Param("limit") int limit);
+
+    // Read-only: callers may change status in memory without Hibernate flushing it back
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Booking> findByIdIn(Collection<UUID> ids);
+
+    // Bulk compare-and-set backed by the named native query on Booking: one [Booking, oldStatus]
+    // row per booking that actually changed, with oldStatus read under the row lock
+    List<Object[]> transitionBulkAsProvider(@Param("ids") Collection<UUID> ids,
+                                            @Param("ownerId") UUID providerId,
+                                            @Param("fromStatuses") Collection<String> fromStatuses,
+                                            @Param("newStatus") String newStatus);
+
+    List<Booking> findByProviderIdAndStatusInAndEndTimeAfter(UUID providerId, Collection<Status> statuses, OffsetDateTime after);
+
+    @Query("""
+            SELECT COUNT(b) > 0 FROM Booking b
+            WHERE b.providerId = :providerId
+              AND b.status IN :statuses
+              AND b.startTime < :endTime
+              AND b.endTime > :startTime
+            """)
+    boolean existsOverlapping(@Param("providerId") UUID providerId,
+                              @Param("statuses") Collection<Status> statuses,
+                              @Param("startTime") OffsetDateTime startTime,
+                              @Param("endTime") OffsetDateTime endTime);
+
+    // Transaction-scoped advisory lock keyed by provider: serializes creates for one
+    // provider across all instances without blocking anyone else
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtextextended(CAST(:providerId AS text), 0))) l",
+            nativeQuery = true)
+    Integer lockProviderSchedule(@Param("providerId") UUID providerId);
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b FROM Booking b WHERE b.startTime >= :from AND b.startTime < :to ORDER BY b.startTime, b.id")
+    Stream<Booking> streamByStartTimeBetween(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
 }
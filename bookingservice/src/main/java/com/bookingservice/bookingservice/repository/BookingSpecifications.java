@@ -0,0 +1,55 @@
+package com.bookingservice.bookingservice.repository;
+
+import com.bookingservice.bookingservice.DTO.BookingCursor;
+import com.bookingservice.bookingservice.model.Booking;
+import com.bookingservice.bookingservice.model.Status;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    /**
+     * Keyset page of bookings owned by {@code ownerField} ("userId" or "providerId"),
+     * ordered by (startTime, id). Only the filters actually supplied become
+     * predicates, so the generated SQL stays a plain range scan on the
+     * (user_id, start_time) / (provider_id, status, start_time) indexes.
+     */
+    public static Specification<Booking> listing(String ownerField,
+                                                 UUID ownerId,
+                                                 Status status,
+                                                 OffsetDateTime from,
+                                                 OffsetDateTime to,
+                                                 BookingCursor after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get(ownerField), ownerId));
+
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<OffsetDateTime>get("startTime"), from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThan(root.<OffsetDateTime>get("startTime"), to));
+            }
+            if (after != null) {
+                predicates.add(cb.or(
+                        cb.greaterThan(root.<OffsetDateTime>get("startTime"), after.startTime()),
+                        cb.and(
+                                cb.equal(root.get("startTime"), after.startTime()),
+                                cb.greaterThan(root.<UUID>get("id"), after.id()))));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.bookingservice.bookingservice.repository;
+
+import com.bookingservice.bookingservice.model.BookingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BookingStatsRepository extends JpaRepository<BookingStats, BookingStats.Key> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO booking_stat_slots (status, slot, booking_count, revenue)
+            VALUES (:status, :slot, :delta, :revenue)
+            ON CONFLICT (status, slot) DO UPDATE
+            SET booking_count = booking_stat_slots.booking_count + EXCLUDED.booking_count,
+                revenue = booking_stat_slots.revenue + EXCLUDED.revenue
+            """, nativeQuery = true)
+    void increment(@Param("status") String status,
+                   @Param("slot") int slot,
+                   @Param("delta") long delta,
+                   @Param("revenue") BigDecimal revenue);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO booking_stat_slots (status, slot, booking_count, revenue)
+            SELECT status, :slot, -COUNT(*), -COALESCE(SUM(total_price), 0)
+            FROM bookings
+            WHERE id IN (:bookingIds)
+            GROUP BY status
+            ON CONFLICT (status, slot) DO UPDATE
+            SET booking_count = booking_stat_slots.booking_count + EXCLUDED.booking_count,
+                revenue = booking_stat_slots.revenue + EXCLUDED.revenue
+            """, nativeQuery = true)
+    void decrementForBookings(@Param("bookingIds") Collection<UUID> bookingIds, @Param("slot") int slot);
+
+    @Query(value = """
+            SELECT status, SUM(booking_count)::bigint AS bookingCount, SUM(revenue) AS revenue
+            FROM booking_stat_slots
+            GROUP BY status
+            """, nativeQuery = true)
+    List<StatusTotalsView> sumByStatus();
+
+    // Held until the reconcile transaction ends; false when another replica is reconciling
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('booking_stats_reconcile'))", nativeQuery = true)
+    boolean tryReconcileLock();
+
+    // Adds the difference between bookings and the summed slots to slot 0. Both sides are read
+    // from the same statement snapshot and the write is an increment like any other, so
+    // concurrent booking transactions neither block nor get lost. Two reconciles must not
+    // overlap (both would add the same difference): callers hold tryReconcileLock first
+    @Modifying
+    @Query(value = """
+            INSERT INTO booking_stat_slots (status, slot, booking_count, revenue)
+            SELECT status, 0, SUM(cnt), SUM(rev)
+            FROM (SELECT status, COUNT(*) AS cnt, COALESCE(SUM(total_price), 0) AS rev
+                  FROM bookings
+                  GROUP BY status
+                  UNION ALL
+                  SELECT status, -SUM(booking_count), -SUM(revenue)
+                  FROM booking_stat_slots
+                  GROUP BY status) d
+            GROUP BY status
+            HAVING SUM(cnt) <> 0 OR SUM(rev) <> 0
+            ON CONFLICT (status, slot) DO UPDATE
+            SET booking_count = booking_stat_slots.booking_count + EXCLUDED.booking_count,
+                revenue = booking_stat_slots.revenue + EXCLUDED.revenue
+            """, nativeQuery = true)
+    int reconcileWithBookings();
+
+    interface StatusTotalsView {
+        String getStatus();
+
+        long getBookingCount();
+
+        BigDecimal getRevenue();
+    }
+}
@@ -0,0 +1,38 @@
+package com.bookingservice.bookingservice.repository;
+
+import com.bookingservice.bookingservice.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, UUID> {
+
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    // Claims the key; a concurrent claim of the same key waits on the unique index until the
+    // first transaction ends, then inserts nothing (returns 0) if that transaction committed
+    @Modifying
+    @Query(value = """
+            INSERT INTO booking_idempotency_keys (id, user_id, idempotency_key, request_hash, created_at, expires_at)
+            VALUES (gen_random_uuid(), :userId, :key, :requestHash, now(), :expiresAt)
+            ON CONFLICT (user_id, idempotency_key) DO NOTHING
+            """, nativeQuery = true)
+    int claim(@Param("userId") UUID userId,
+              @Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("expiresAt") OffsetDateTime expiresAt);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM booking_idempotency_keys
+            WHERE id IN (SELECT id FROM booking_idempotency_keys WHERE expires_at < :now LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteExpired(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,11 @@
+package com.bookingservice.bookingservice.repository;
+
+import com.bookingservice.bookingservice.model.OutboxDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetter, UUID> {
+}
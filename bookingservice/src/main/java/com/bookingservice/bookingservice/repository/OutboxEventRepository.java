@@ -0,0 +1,31 @@
+package com.bookingservice.bookingservice.repository;
+
+import com.bookingservice.bookingservice.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // SKIP LOCKED lets several relay instances claim disjoint batches
+    @Query(value = """
+            SELECT * FROM booking_outbox
+            WHERE locked_until IS NULL OR locked_until < :now
+            ORDER BY created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> findClaimable(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    void deleteByIds(@Param("ids") Collection<UUID> ids);
+}
@@ -46,17 +46,21 @@ public class SecurityConfig {
                         // Student endpoints
                         .requestMatchers(HttpMethod.POST, "/api/bookings").hasAnyRole("STUDENT", "ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/bookings/my-bookings").hasAnyRole("STUDENT", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/bookings/my-bookings/page").hasAnyRole("STUDENT", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/bookings/*/cancel-student").hasAnyRole("STUDENT", "ADMIN")
 
                         // Teacher endpoints
                         .requestMatchers(HttpMethod.GET, "/api/bookings/my-provider-bookings").hasAnyRole("TEACHER", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/bookings/my-provider-bookings/page").hasAnyRole("TEACHER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/bookings/*/accept").hasAnyRole("TEACHER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/bookings/*/reject").hasAnyRole("TEACHER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/bookings/*/complete").hasAnyRole("TEACHER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/bookings/*/cancel-teacher").hasAnyRole("TEACHER", "ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/bookings/bulk-status").hasAnyRole("TEACHER", "ADMIN")
 
                         // Admin endpoints
                         .requestMatchers(HttpMethod.GET, "/api/bookings/all").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/bookings/export").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/bookings/stats").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/bookings/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/bookings/user/**").hasRole("ADMIN")
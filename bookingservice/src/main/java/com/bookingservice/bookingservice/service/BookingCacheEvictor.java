@@ -0,0 +1,52 @@
+package com.bookingservice.bookingservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Evicts per-user booking listing caches for changes made outside the
+ * annotated {@link BookingService} methods (background jobs, bulk deletes,
+ * bulk status changes). Call it after the change has committed, or use
+ * {@link #evictAfterCommit}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final ProviderScheduleIndex scheduleIndex;
+
+    public void evict(Collection<UUID> studentIds, Collection<UUID> providerIds) {
+        evict("studentBookings", studentIds);
+        evict("providerBookings", providerIds);
+        providerIds.forEach(scheduleIndex::evict);
+    }
+
+    // From inside a transaction: evicts once it commits, so no reader re-caches the old state
+    public void evictAfterCommit(Collection<UUID> studentIds, Collection<UUID> providerIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(studentIds, providerIds);
+                }
+            });
+        } else {
+            evict(studentIds, providerIds);
+        }
+    }
+
+    private void evict(String cacheName, Collection<UUID> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.bookingservice.bookingservice.service;
+
+import com.bookingservice.bookingservice.model.Booking;
+import com.bookingservice.bookingservice.repository.BookingRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes bookings straight from a database cursor to the response body, so
+ * memory use does not depend on how many rows are exported. Rows are written
+ * as stored (ids, times, prices, status) without user or skill names.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExportService {
+
+    private static final OffsetDateTime MIN_START = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime MAX_START = OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String CSV_HEADER = "id,userId,providerId,skillId,startTime,endTime,"
+            + "totalHours,pricePerHour,totalPrice,status,createdAt,updatedAt";
+
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Unsupported export format: " + value + " (use ndjson or csv)");
+            }
+        }
+    }
+
+    /**
+     * Streams bookings whose start time falls in [from, to) to {@code out}, oldest first.
+     * Either bound may be null to leave that side open.
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OffsetDateTime from, OffsetDateTime to, OutputStream out) throws IOException {
+        long count;
+        try (Stream<Booking> bookings = bookingRepository.streamByStartTimeBetween(
+                from != null ? from : MIN_START, to != null ? to : MAX_START)) {
+            count = format == Format.CSV ? writeCsv(bookings.iterator(), out) : writeNdjson(bookings.iterator(), out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Exported {} bookings as {} (from={}, to={})", count, format, from, to);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<Booking> bookings, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            while (bookings.hasNext()) {
+                Booking booking = bookings.next();
+                writer.writeValue(generator, booking);
+                release(booking);
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Booking> bookings, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long count = 0;
+        while (bookings.hasNext()) {
+            Booking b = bookings.next();
+            writer.write(String.join(",",
+                    str(b.getId()), str(b.getUserId()), str(b.getProviderId()), str(b.getSkillId()),
+                    str(b.getStartTime()), str(b.getEndTime()),
+                    str(b.getTotalHours()), str(b.getPricePerHour()), str(b.getTotalPrice()),
+                    str(b.getStatus()), str(b.getCreatedAt()), str(b.getUpdatedAt())));
+            writer.write('\n');
+            release(b);
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    // Keeps the persistence context from growing with every row read
+    private void release(Booking booking) {
+        entityManager.detach(booking);
+    }
+
+    // All exported columns are ids, numbers, enums or timestamps, so no CSV quoting is needed
+    private static String str(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
@@ -0,0 +1,279 @@
+package com.bookingservice.bookingservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps {@code booking_history} range-partitioned by month on {@code changed_at}.
+ * <ul>
+ *   <li>On first start, converts the plain table Hibernate created into a
+ *       partitioned one. Existing rows stay in place as the
+ *       {@code booking_history_legacy} partition.</li>
+ *   <li>Creates monthly partitions {@code app.history-partitions.premake-months} ahead.</li>
+ *   <li>Once a month, writes partitions older than
+ *       {@code app.history-partitions.retention-months} to gzipped CSV under
+ *       {@code app.history-partitions.archive-dir}, then detaches and drops them.</li>
+ * </ul>
+ * Every step takes a transaction-scoped advisory lock, so only one replica does the work.
+ */
+@Service
+@Slf4j
+public class BookingHistoryPartitionManager {
+
+    private static final String TABLE = "booking_history";
+    private static final String LOCK_KEY = "booking_history_partitions";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+    private static final DateTimeFormatter PG_TIMESTAMPTZ = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss[XXX][X]");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.history-partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.history-partitions.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${app.history-partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${app.history-partitions.archive-dir:./archive/booking-history}")
+    private Path archiveDir;
+
+    public BookingHistoryPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                if (tryLock()) {
+                    convertToPartitionedIfNeeded();
+                }
+            });
+            ensureFuturePartitions();
+        } catch (Exception e) {
+            log.error("Failed to initialize booking_history partitions", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.history-partitions.maintenance-cron:0 15 2 * * *}")
+    public void ensureFuturePartitions() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!tryLock() || !isPartitioned()) {
+                return;
+            }
+            YearMonth last = YearMonth.now(ZoneOffset.UTC).plusMonths(premakeMonths);
+            OffsetDateTime upper = latestUpperBound();
+            YearMonth next = upper != null
+                    ? YearMonth.from(upper.withOffsetSameInstant(ZoneOffset.UTC))
+                    : YearMonth.now(ZoneOffset.UTC);
+            for (YearMonth month = next; !month.isAfter(last); month = month.plusMonths(1)) {
+                createMonthlyPartition(month);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${app.history-partitions.archive-cron:0 30 3 1 * *}")
+    public void archiveOldPartitions() {
+        if (!enabled) {
+            return;
+        }
+        OffsetDateTime cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths)
+                .atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        List<Map<String, Object>> candidates = listPartitions();
+        for (Map<String, Object> partition : candidates) {
+            String name = (String) partition.get("name");
+            OffsetDateTime upper = parseUpperBound((String) partition.get("bound"));
+            if (upper == null || upper.isAfter(cutoff)) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    if (tryLock()) {
+                        archivePartition(name);
+                    }
+                });
+            } catch (Exception e) {
+                log.error("Failed to archive booking history partition {}", name, e);
+            }
+        }
+    }
+
+    // ========== CONVERSION ==========
+
+    private void convertToPartitionedIfNeeded() {
+        String relkind = jdbcTemplate.query(
+                "SELECT c.relkind::text FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                        + "WHERE c.relname = ? AND n.nspname = current_schema()",
+                rs -> rs.next() ? rs.getString(1) : null, TABLE);
+        if (!"r".equals(relkind)) {
+            return;   // already partitioned, or not created yet
+        }
+
+        log.info("Converting {} to a monthly range-partitioned table", TABLE);
+        String legacy = TABLE + "_legacy";
+        LocalDate legacyEnd = YearMonth.now(ZoneOffset.UTC).plusMonths(1).atDay(1);
+        String pkName = jdbcTemplate.queryForObject(
+                "SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass AND contype = 'p'", String.class, TABLE);
+
+        jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + legacy);
+        jdbcTemplate.execute("ALTER TABLE " + legacy + " RENAME CONSTRAINT " + pkName + " TO " + legacy + "_pkey");
+        jdbcTemplate.execute("ALTER INDEX IF EXISTS idx_history_booking_changed RENAME TO idx_history_legacy_booking_changed");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_history_booking_id");
+
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + legacy + " INCLUDING DEFAULTS) "
+                + "PARTITION BY RANGE (changed_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, changed_at)");
+        jdbcTemplate.execute("CREATE INDEX idx_history_booking_changed ON " + TABLE + " (booking_id, changed_at)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + legacy
+                + " FOR VALUES FROM (MINVALUE) TO ('" + legacyEnd + " 00:00:00+00')");
+        log.info("{} is now partitioned; existing rows kept in {} (up to {})", TABLE, legacy, legacyEnd);
+    }
+
+    private void createMonthlyPartition(YearMonth month) {
+        String name = TABLE + "_p" + month.format(SUFFIX);
+        String from = month.atDay(1) + " 00:00:00+00";
+        String to = month.plusMonths(1).atDay(1) + " 00:00:00+00";
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        log.info("Ensured booking history partition {}", name);
+    }
+
+    // ========== ARCHIVAL ==========
+
+    private void archivePartition(String name) {
+        Path target = archiveDir.resolve(name + ".csv.gz");
+        Path tmp = archiveDir.resolve(name + ".csv.gz.tmp");
+        try {
+            Files.createDirectories(archiveDir);
+            long rows;
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                rows = exportCsv(name, out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Archived {} rows of {} to {}", rows, name, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive " + name, e);
+        }
+
+        // Only dropped once the file is safely written; a failure above leaves the partition attached
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + name);
+        jdbcTemplate.execute("DROP TABLE " + name);
+    }
+
+    private long exportCsv(String partition, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long[] count = {0};
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(1000);
+        streaming.query("SELECT * FROM " + partition + " ORDER BY changed_at", rs -> {
+            try {
+                ResultSetMetaData meta = rs.getMetaData();
+                if (count[0] == 0) {
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        writer.write((i > 1 ? "," : "") + meta.getColumnName(i));
+                    }
+                    writer.write('\n');
+                }
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    writer.write((i > 1 ? "," : "") + csv(rs.getString(i)));
+                }
+                writer.write('\n');
+                count[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return count[0];
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    // ========== CATALOG HELPERS ==========
+
+    private boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, LOCK_KEY));
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid "
+                        + "JOIN pg_namespace n ON n.oid = c.relnamespace "
+                        + "WHERE c.relname = ? AND n.nspname = current_schema())", Boolean.class, TABLE));
+    }
+
+    private List<Map<String, Object>> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound "
+                        + "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "JOIN pg_class p ON p.oid = i.inhparent JOIN pg_namespace n ON n.oid = p.relnamespace "
+                        + "WHERE p.relname = ? AND n.nspname = current_schema()", TABLE);
+    }
+
+    private OffsetDateTime latestUpperBound() {
+        return listPartitions().stream()
+                .map(p -> parseUpperBound((String) p.get("bound")))
+                .filter(b -> b != null)
+                .max(OffsetDateTime::compareTo)
+                .orElse(null);
+    }
+
+    // pg_get_expr renders bounds like: FOR VALUES FROM ('2026-01-01 00:00:00+00') TO ('2026-02-01 00:00:00+00')
+    private static OffsetDateTime parseUpperBound(String bound) {
+        if (bound == null) {
+            return null;
+        }
+        Matcher m = UPPER_BOUND.matcher(bound);
+        return m.find() ? OffsetDateTime.parse(m.group(1), PG_TIMESTAMPTZ) : null;
+    }
+}
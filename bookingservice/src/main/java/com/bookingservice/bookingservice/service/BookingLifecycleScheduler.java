@@ -0,0 +1,151 @@
+package com.bookingservice.bookingservice.service;
+
+import com.bookingservice.bookingservice.model.Booking;
+import com.bookingservice.bookingservice.model.BookingHistory;
+import com.bookingservice.bookingservice.model.Status;
+import com.bookingservice.bookingservice.repository.BookingHistoryRepository;
+import com.bookingservice.bookingservice.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Time-driven booking transitions:
+ * <ul>
+ *   <li>PENDING bookings whose start time has passed are cancelled as expired,</li>
+ *   <li>CONFIRMED bookings that ended more than {@code app.lifecycle.complete-after} ago are completed,</li>
+ *   <li>CONFIRMED bookings starting within {@code app.lifecycle.reminder-lead} get one reminder event.</li>
+ * </ul>
+ * Each page is claimed and updated by one statement with {@code FOR UPDATE SKIP LOCKED},
+ * so every replica can run the sweep and no booking is handled twice. History,
+ * stats and outbox rows for a page are written in the same transaction.
+ */
+@Service
+@Slf4j
+public class BookingLifecycleScheduler {
+
+    private static final String EXPIRED_METADATA = "Expired: not accepted before the session start";
+    private static final String AUTO_COMPLETED_METADATA = "Completed automatically after the session ended";
+
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final BookingStatsService bookingStatsService;
+    private final OutboxService outboxService;
+    private final ProviderScheduleIndex scheduleIndex;
+    private final BookingCacheEvictor cacheEvictor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.lifecycle.page-size:200}")
+    private int pageSize;
+
+    @Value("${app.lifecycle.max-pages-per-run:50}")
+    private int maxPagesPerRun;
+
+    @Value("${app.lifecycle.complete-after:30m}")
+    private Duration completeAfter;
+
+    @Value("${app.lifecycle.reminder-lead:1h}")
+    private Duration reminderLead;
+
+    public BookingLifecycleScheduler(BookingRepository bookingRepository,
+                                     BookingHistoryRepository bookingHistoryRepository,
+                                     BookingStatsService bookingStatsService,
+                                     OutboxService outboxService,
+                                     ProviderScheduleIndex scheduleIndex,
+                                     BookingCacheEvictor cacheEvictor,
+                                     PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.bookingHistoryRepository = bookingHistoryRepository;
+        this.bookingStatsService = bookingStatsService;
+        this.outboxService = outboxService;
+        this.scheduleIndex = scheduleIndex;
+        this.cacheEvictor = cacheEvictor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.lifecycle.interval-ms:60000}", initialDelay = 30000)
+    public void run() {
+        int expired = sweep(true, () -> {
+            List<Booking> page = bookingRepository.expireStalePending(OffsetDateTime.now(), pageSize);
+            recordTransitions(page, Status.PENDING, Status.CANCELLED, EXPIRED_METADATA);
+            return page;
+        });
+        int completed = sweep(true, () -> {
+            List<Booking> page = bookingRepository.completeElapsedConfirmed(OffsetDateTime.now().minus(completeAfter), pageSize);
+            recordTransitions(page, Status.CONFIRMED, Status.COMPLETED, AUTO_COMPLETED_METADATA);
+            return page;
+        });
+        int reminded = sweep(false, () -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<Booking> page = bookingRepository.claimDueReminders(now, now.plus(reminderLead), pageSize);
+            page.forEach(outboxService::enqueueReminder);
+            return page;
+        });
+
+        if (expired + completed + reminded > 0) {
+            log.info("Lifecycle sweep: {} expired, {} auto-completed, {} reminders queued", expired, completed, reminded);
+        }
+    }
+
+    // Runs one transaction per page until a short page or the per-run cap
+    private int sweep(boolean statusChanged, Supplier<List<Booking>> claimPage) {
+        int total = 0;
+        for (int i = 0; i < maxPagesPerRun; i++) {
+            List<Booking> page = transactionTemplate.execute(tx -> claimPage.get());
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            total += page.size();
+            if (statusChanged) {
+                evictCaches(page);
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private void recordTransitions(List<Booking> page, Status oldStatus, Status newStatus, String metadata) {
+        if (page.isEmpty()) {
+            return;
+        }
+        bookingHistoryRepository.saveAll(page.stream()
+                .map(b -> BookingHistory.builder()
+                        .bookingId(b.getId())
+                        .oldStatus(oldStatus.name())
+                        .newStatus(newStatus.name())
+                        .metadata(metadata)
+                        .build())
+                .toList());
+        bookingStatsService.recordTransitions(oldStatus, newStatus, page.size(), page.stream()
+                .map(b -> b.getTotalPrice() != null ? b.getTotalPrice() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        for (Booking booking : page) {
+            outboxService.enqueueStatusChanged(booking, oldStatus, newStatus, metadata);
+            scheduleIndex.removeAfterCommit(booking);
+        }
+    }
+
+    private void evictCaches(List<Booking> page) {
+        Set<UUID> students = new HashSet<>();
+        Set<UUID> providers = new HashSet<>();
+        for (Booking booking : page) {
+            students.add(booking.getUserId());
+            providers.add(booking.getProviderId());
+        }
+        cacheEvictor.evict(students, providers);
+    }
+}
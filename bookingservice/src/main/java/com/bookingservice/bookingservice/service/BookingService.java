@@ -1,38 +1,58 @@
 package com.bookingservice.bookingservice.service;
 
 import com.bookingservice.bookingservice.DTO.BookingCreateRequest;
+import com.bookingservice.bookingservice.DTO.BookingCursor;
+import com.bookingservice.bookingservice.DTO.BookingHistoryResponse;
+import com.bookingservice.bookingservice.DTO.BookingPage;
 import com.bookingservice.bookingservice.DTO.BookingResponse;
+import com.bookingservice.bookingservice.DTO.BulkStatusChangeRequest;
+import com.bookingservice.bookingservice.DTO.BulkStatusChangeResponse;
 import com.bookingservice.bookingservice.config.ExternalServiceClient;
-import com.bookingservice.bookingservice.events.BookingCreatedEvent;
-import com.bookingservice.bookingservice.events.BookingStatusChangedEvent;
+import com.bookingservice.bookingservice.exception.BookingConflictException;
 import com.bookingservice.bookingservice.exception.BookingNotFoundException;
+import com.bookingservice.bookingservice.exception.ExternalServiceUnavailableException;
 import com.bookingservice.bookingservice.mapper.Mapper;
 import com.bookingservice.bookingservice.model.Booking;
 import com.bookingservice.bookingservice.model.BookingHistory;
 import com.bookingservice.bookingservice.model.Status;
 import com.bookingservice.bookingservice.repository.BookingHistoryRepository;
 import com.bookingservice.bookingservice.repository.BookingRepository;
+import com.bookingservice.bookingservice.repository.BookingSpecifications;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.UnsupportedByAuthenticationException;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,11 +62,29 @@ public class BookingService {
 
     private final BookingRepository bookingRepository;
     private final BookingHistoryRepository bookingHistoryRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
     private final ExternalServiceClient externalClient;
+    private final BookingStatsService bookingStatsService;
+    private final OutboxService outboxService;
+    private final ProviderScheduleIndex scheduleIndex;
+    private final ExecutorService remoteCallExecutor;
+    private final IdempotencyService idempotencyService;
+    private final BookingCacheEvictor cacheEvictor;
 
-    @Value("${kafka.topic.booking-events}")
-    private String bookingEventsTopic;
+    @Value("${app.remote-checks.budget:3s}")
+    private Duration remoteCheckBudget;
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final Set<Status> CANCELLABLE = EnumSet.of(Status.PENDING, Status.CONFIRMED, Status.REJECTED);
+
+    // Target status -> statuses a teacher may move a booking from (same rules as the single-booking endpoints)
+    private static final Map<Status, Set<Status>> TEACHER_TRANSITIONS = Map.of(
+            Status.CONFIRMED, EnumSet.of(Status.PENDING),
+            Status.REJECTED, EnumSet.of(Status.PENDING),
+            Status.COMPLETED, EnumSet.of(Status.CONFIRMED),
+            Status.CANCELLED, CANCELLABLE
+    );
 
     // ========== STUDENT METHODS ==========
 
@@ -55,24 +93,31 @@ public class BookingService {
             @CacheEvict(value = "studentBookings", key = "#userId"),
             @CacheEvict(value = "providerBookings", key = "#result.providerId")
     })
-    public BookingResponse createBooking(UUID userId, BookingCreateRequest request) {
+    public BookingResponse createBooking(UUID userId, BookingCreateRequest request, String idempotencyKey) {
         log.info("Creating booking for user {} with skill {}", userId, request.getSkillId());
 
-        // 1. Validate user exists (optional - token already validated)
-        if (!externalClient.validateUser(userId)) {
+        // 0. A retry of a completed request gets the original response, with no remote calls or events
+        if (idempotencyKey != null) {
+            Optional<BookingResponse> replay = idempotencyService.claimOrReplay(userId, idempotencyKey, request);
+            if (replay.isPresent()) {
+                return replay.get();
+            }
+        }
+
+        // 1-3. Validate user, load skill and validate its provider (remote calls run concurrently)
+        RemoteChecks checks = runRemoteChecks(userId, request.getSkillId());
+        if (!checks.userExists()) {
             throw new ValidationException("User not found: " + userId);
         }
 
-        // 2. Get skill details
-        ExternalServiceClient.SkillDetails skill = externalClient.getSkill(request.getSkillId());
+        ExternalServiceClient.SkillDetails skill = checks.skill();
         if (skill == null) {
             throw new ValidationException("Skill not found: " + request.getSkillId());
         }
 
         UUID providerId = skill.getUserId();
 
-        // 3. Validate provider exists
-        if (!externalClient.validateUser(providerId)) {
+        if (!checks.providerExists()) {
             throw new ValidationException("Provider not found: " + providerId);
         }
 
@@ -90,7 +135,25 @@ public class BookingService {
             throw new ValidationException("Cannot book in the past");
         }
 
-        // 6. Calculate pricing
+        // 6. Reject overlapping sessions. The in-memory index only sees this instance's commits,
+        //    so a hit is never trusted on its own: it is confirmed against the database without
+        //    waiting for the provider's schedule lock, and dropped as stale if the database
+        //    disagrees. The range query under the lock stays the authoritative check.
+        if (scheduleIndex.findConflict(providerId, request.getStartTime(), request.getEndTime()).isPresent()) {
+            if (bookingRepository.existsOverlapping(providerId, ProviderScheduleIndex.BLOCKING_STATUSES,
+                    request.getStartTime(), request.getEndTime())) {
+                throw new BookingConflictException("Provider already has a booking in this time slot");
+            }
+            scheduleIndex.evict(providerId);
+        }
+        bookingRepository.lockProviderSchedule(providerId);
+        if (bookingRepository.existsOverlapping(providerId, ProviderScheduleIndex.BLOCKING_STATUSES,
+                request.getStartTime(), request.getEndTime())) {
+            scheduleIndex.evict(providerId);
+            throw new BookingConflictException("Provider already has a booking in this time slot");
+        }
+
+        // 7. Calculate pricing
         Duration duration = Duration.between(request.getStartTime(), request.getEndTime());
         BigDecimal totalHours = BigDecimal.valueOf(duration.toMinutes())
                 .divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
@@ -99,7 +162,7 @@ public class BookingService {
         BigDecimal totalPrice = pricePerHour.multiply(totalHours)
                 .setScale(2, RoundingMode.HALF_UP);
 
-        // 7. Create booking
+        // 8. Create booking
         Booking booking = Booking.builder()
                 .userId(userId)
                 .providerId(providerId)
@@ -115,22 +178,32 @@ public class BookingService {
         Booking saved = bookingRepository.save(booking);
         log.info("Booking created: {} with total price: {}", saved.getId(), totalPrice);
 
-        // 8. Save history and publish event
+        // 9. Save history, update stats and queue event for the outbox relay
         saveHistory(saved.getId(), null, Status.PENDING, "Booking created by student");
-        publishBookingCreated(saved);
+        bookingStatsService.recordCreated(saved);
+        outboxService.enqueueBookingCreated(saved);
+        scheduleIndex.addAfterCommit(saved);
 
-        return enrichSingleBooking(saved);
+        BookingResponse response = enrichSingleBooking(saved);
+        if (idempotencyKey != null) {
+            idempotencyService.complete(userId, idempotencyKey, response);
+        }
+        return response;
     }
 
-    @Cacheable(value = "studentBookings", key = "#userId")
     public List<BookingResponse> getBookingsByUser(UUID userId) {
-
-        Map<UUID, Map<String, Object>> userCache = new HashMap<>();
-        Map<UUID, ExternalServiceClient.SkillDetails> skillCache = new HashMap<>();
         log.info("Fetching bookings for student: {}", userId);
-        return bookingRepository.findByUserId(userId).stream()
-                .map(b -> enrichBooking(b, userCache, skillCache))
-                .collect(Collectors.toList());
+        return enrichBookings(bookingRepository.findByUserId(userId));
+    }
+
+    // Only the unfiltered first page is cached, so the cache holds at most one page per user
+    @Cacheable(value = "studentBookings", key = "#userId",
+            condition = "#cursor == null && #status == null && #from == null && #to == null"
+                    + " && #size == T(com.bookingservice.bookingservice.service.BookingService).DEFAULT_PAGE_SIZE")
+    public BookingPage getBookingPageByUser(UUID userId, String cursor, int size,
+                                            Status status, OffsetDateTime from, OffsetDateTime to) {
+        log.info("Fetching booking page for student: {}", userId);
+        return findBookingPage("userId", userId, cursor, size, status, from, to);
     }
 
     @Transactional
@@ -141,25 +214,16 @@ public class BookingService {
     public BookingResponse cancelBookingAsStudent(UUID bookingId, UUID userId) {
         log.info("Student {} cancelling booking {}", userId, bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new BookingNotFoundException("Booking not found: " + bookingId));
-
-        // Verify ownership
-        if (!booking.getUserId().equals(userId)) {
-            throw new UnsupportedByAuthenticationException("You can only cancel your own bookings");
-        }
-
-        // Validate status
-        if (booking.getStatus() == Status.COMPLETED || booking.getStatus() == Status.CANCELLED) {
-            throw new ValidationException("Cannot cancel completed or already cancelled booking");
-        }
-
-        Status oldStatus = booking.getStatus();
-        booking.setStatus(Status.CANCELLED);
-        bookingRepository.save(booking);
+        Transition transition = transition(bookingId, userId, true, CANCELLABLE, Status.CANCELLED,
+                "You can only cancel your own bookings",
+                "Cannot cancel completed or already cancelled booking");
+        Booking booking = transition.booking();
+        Status oldStatus = transition.oldStatus();
 
         saveHistory(bookingId, oldStatus, Status.CANCELLED, "Cancelled by student");
-        publishStatusChanged(booking, oldStatus, Status.CANCELLED, "Cancelled by student");
+        bookingStatsService.recordTransition(booking, oldStatus, Status.CANCELLED);
+        outboxService.enqueueStatusChanged(booking, oldStatus, Status.CANCELLED, "Cancelled by student");
+        scheduleIndex.removeAfterCommit(booking);
 
         log.info(" Booking {} cancelled by student", bookingId);
         return enrichSingleBooking(booking);
@@ -167,16 +231,17 @@ public class BookingService {
 
     // ========== TEACHER METHODS ==========
 
-    @Cacheable(value = "providerBookings", key = "#providerId")
     public List<BookingResponse> getBookingsByProvider(UUID providerId) {
+        return enrichBookings(bookingRepository.findByProviderId(providerId));
+    }
 
-        Map<UUID, Map<String, Object>> userCache = new HashMap<>();
-        Map<UUID, ExternalServiceClient.SkillDetails> skillCache = new HashMap<>();
-
-        return bookingRepository.findByProviderId(providerId)
-                .stream()
-                .map(b -> enrichBooking(b, userCache, skillCache))
-                .collect(Collectors.toList());
+    @Cacheable(value = "providerBookings", key = "#providerId",
+            condition = "#cursor == null && #status == null && #from == null && #to == null"
+                    + " && #size == T(com.bookingservice.bookingservice.service.BookingService).DEFAULT_PAGE_SIZE")
+    public BookingPage getBookingPageByProvider(UUID providerId, String cursor, int size,
+                                                Status status, OffsetDateTime from, OffsetDateTime to) {
+        log.info("Fetching booking page for provider: {}", providerId);
+        return findBookingPage("providerId", providerId, cursor, size, status, from, to);
     }
 
     @Transactional
@@ -187,25 +252,15 @@ public class BookingService {
     public BookingResponse acceptBooking(UUID bookingId, UUID teacherId) {
         log.info("Teacher {} accepting booking {}", teacherId, bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new BookingNotFoundException("Booking not found: " + bookingId));
-
-        // Verify ownership
-        if (!booking.getProviderId().equals(teacherId)) {
-            throw new UnsupportedByAuthenticationException("Only the skill provider can accept this booking");
-        }
-
-        // Validate status
-        if (booking.getStatus() != Status.PENDING) {
-            throw new ValidationException("Can only accept PENDING bookings");
-        }
-
-        Status oldStatus = booking.getStatus();
-        booking.setStatus(Status.CONFIRMED);
-        bookingRepository.save(booking);
+        Transition transition = transition(bookingId, teacherId, false, EnumSet.of(Status.PENDING), Status.CONFIRMED,
+                "Only the skill provider can accept this booking",
+                "Can only accept PENDING bookings");
+        Booking booking = transition.booking();
+        Status oldStatus = transition.oldStatus();
 
         saveHistory(bookingId, oldStatus, Status.CONFIRMED, "Accepted by teacher");
-        publishStatusChanged(booking, oldStatus, Status.CONFIRMED, "Accepted by teacher");
+        bookingStatsService.recordTransition(booking, oldStatus, Status.CONFIRMED);
+        outboxService.enqueueStatusChanged(booking, oldStatus, Status.CONFIRMED, "Accepted by teacher");
 
         log.info(" Booking {} accepted by teacher", bookingId);
         return enrichSingleBooking(booking);
@@ -219,24 +274,17 @@ public class BookingService {
     public BookingResponse rejectBooking(UUID bookingId, UUID teacherId, String reason) {
         log.info("Teacher {} rejecting booking {}", teacherId, bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new BookingNotFoundException("Booking not found: " + bookingId));
-
-        if (!booking.getProviderId().equals(teacherId)) {
-            throw new UnsupportedByAuthenticationException("Only the skill provider can reject this booking");
-        }
-
-        if (booking.getStatus() != Status.PENDING) {
-            throw new ValidationException("Can only reject PENDING bookings");
-        }
-
-        Status oldStatus = booking.getStatus();
-        booking.setStatus(Status.REJECTED);
-        bookingRepository.save(booking);
+        Transition transition = transition(bookingId, teacherId, false, EnumSet.of(Status.PENDING), Status.REJECTED,
+                "Only the skill provider can reject this booking",
+                "Can only reject PENDING bookings");
+        Booking booking = transition.booking();
+        Status oldStatus = transition.oldStatus();
 
         String metadata = reason != null ? "Rejected by teacher: " + reason : "Rejected by teacher";
         saveHistory(bookingId, oldStatus, Status.REJECTED, metadata);
-        publishStatusChanged(booking, oldStatus, Status.REJECTED, metadata);
+        bookingStatsService.recordTransition(booking, oldStatus, Status.REJECTED);
+        outboxService.enqueueStatusChanged(booking, oldStatus, Status.REJECTED, metadata);
+        scheduleIndex.removeAfterCommit(booking);
 
         log.info(" Booking {} rejected by teacher", bookingId);
         return enrichSingleBooking(booking);
@@ -250,23 +298,16 @@ public class BookingService {
     public BookingResponse completeBooking(UUID bookingId, UUID teacherId) {
         log.info("Teacher {} completing booking {}", teacherId, bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new BookingNotFoundException("Booking not found: " + bookingId));
-
-        if (!booking.getProviderId().equals(teacherId)) {
-            throw new UnsupportedByAuthenticationException("Only the skill provider can complete this booking");
-        }
-
-        if (booking.getStatus() != Status.CONFIRMED) {
-            throw new ValidationException("Can only complete CONFIRMED bookings");
-        }
-
-        Status oldStatus = booking.getStatus();
-        booking.setStatus(Status.COMPLETED);
-        bookingRepository.save(booking);
+        Transition transition = transition(bookingId, teacherId, false, EnumSet.of(Status.CONFIRMED), Status.COMPLETED,
+                "Only the skill provider can complete this booking",
+                "Can only complete CONFIRMED bookings");
+        Booking booking = transition.booking();
+        Status oldStatus = transition.oldStatus();
 
         saveHistory(bookingId, oldStatus, Status.COMPLETED, "Completed by teacher");
-        publishStatusChanged(booking, oldStatus, Status.COMPLETED, "Completed by teacher");
+        bookingStatsService.recordTransition(booking, oldStatus, Status.COMPLETED);
+        outboxService.enqueueStatusChanged(booking, oldStatus, Status.COMPLETED, "Completed by teacher");
+        scheduleIndex.removeAfterCommit(booking);
 
         log.info(" Booking {} completed by teacher", bookingId);
         return enrichSingleBooking(booking);
@@ -280,29 +321,106 @@ public class BookingService {
     public BookingResponse cancelBookingAsTeacher(UUID bookingId, UUID teacherId, String reason) {
         log.info("Teacher {} cancelling booking {}", teacherId, bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new BookingNotFoundException("Booking not found: " + bookingId));
-
-        if (!booking.getProviderId().equals(teacherId)) {
-            throw new UnsupportedByAuthenticationException("Only the skill provider can cancel this booking");
-        }
-
-        if (booking.getStatus() == Status.COMPLETED || booking.getStatus() == Status.CANCELLED) {
-            throw new ValidationException("Cannot cancel completed or already cancelled booking");
-        }
-
-        Status oldStatus = booking.getStatus();
-        booking.setStatus(Status.CANCELLED);
-        bookingRepository.save(booking);
+        Transition transition = transition(bookingId, teacherId, false, CANCELLABLE, Status.CANCELLED,
+                "Only the skill provider can cancel this booking",
+                "Cannot cancel completed or already cancelled booking");
+        Booking booking = transition.booking();
+        Status oldStatus = transition.oldStatus();
 
         String metadata = reason != null ? "Cancelled by teacher: " + reason : "Cancelled by teacher";
         saveHistory(bookingId, oldStatus, Status.CANCELLED, metadata);
-        publishStatusChanged(booking, oldStatus, Status.CANCELLED, metadata);
+        bookingStatsService.recordTransition(booking, oldStatus, Status.CANCELLED);
+        outboxService.enqueueStatusChanged(booking, oldStatus, Status.CANCELLED, metadata);
+        scheduleIndex.removeAfterCommit(booking);
 
         log.info(" Booking {} cancelled by teacher", bookingId);
         return enrichSingleBooking(booking);
     }
 
+    /**
+     * Applies one teacher transition to many bookings at once: one query to load and
+     * check ownership, one conditional UPDATE, and batched history/outbox inserts.
+     * Bookings that are missing or not in a valid source status are reported as
+     * skipped; a booking owned by another provider fails the whole request.
+     */
+    @Transactional
+    @CacheEvict(value = "providerBookings", key = "#teacherId")
+    public BulkStatusChangeResponse bulkChangeStatus(UUID teacherId, BulkStatusChangeRequest request) {
+        Status newStatus = request.getStatus();
+        Set<Status> fromStatuses = TEACHER_TRANSITIONS.get(newStatus);
+        if (fromStatuses == null) {
+            throw new ValidationException("Bookings cannot be moved to " + newStatus + " in bulk");
+        }
+        log.info("Teacher {} moving {} bookings to {}", teacherId, request.getBookingIds().size(), newStatus);
+
+        Set<UUID> requested = new LinkedHashSet<>(request.getBookingIds());
+        Map<UUID, Booking> bookings = bookingRepository.findByIdIn(requested).stream()
+                .collect(Collectors.toMap(Booking::getId, b -> b));
+
+        Map<UUID, String> skipped = new LinkedHashMap<>();
+        List<UUID> eligible = new ArrayList<>();
+        for (UUID id : requested) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                skipped.put(id, "Booking not found");
+            } else if (!booking.getProviderId().equals(teacherId)) {
+                throw new UnsupportedByAuthenticationException("Only the skill provider can change booking " + id);
+            } else if (!fromStatuses.contains(booking.getStatus())) {
+                skipped.put(id, "Cannot move " + booking.getStatus() + " booking to " + newStatus);
+            } else {
+                eligible.add(id);
+            }
+        }
+
+        // The status read above only decides eligibility; the old status recorded below comes
+        // from the UPDATE itself, so a concurrent transition cannot leave a wrong one in history
+        Map<UUID, Status> oldStatuses = new LinkedHashMap<>();
+        if (!eligible.isEmpty()) {
+            bookingRepository.transitionBulkAsProvider(
+                            eligible, teacherId, fromStatuses.stream().map(Status::name).toList(), newStatus.name())
+                    .forEach(row -> oldStatuses.put(((Booking) row[0]).getId(), Status.valueOf((String) row[1])));
+        }
+        List<UUID> updated = eligible.stream().filter(oldStatuses::containsKey).toList();
+        eligible.stream()
+                .filter(id -> !oldStatuses.containsKey(id))
+                .forEach(id -> skipped.put(id, "Booking was changed concurrently"));
+
+        String metadata = bulkMetadata(newStatus, request.getReason());
+        List<BookingHistory> history = new ArrayList<>();
+        Map<Status, List<Booking>> byOldStatus = new EnumMap<>(Status.class);
+        for (UUID id : updated) {
+            Booking booking = bookings.get(id);
+            Status oldStatus = oldStatuses.get(id);
+            history.add(BookingHistory.builder()
+                    .bookingId(id)
+                    .oldStatus(oldStatus.name())
+                    .newStatus(newStatus.name())
+                    .metadata(metadata)
+                    .build());
+            byOldStatus.computeIfAbsent(oldStatus, s -> new ArrayList<>()).add(booking);
+
+            booking.setStatus(newStatus);   // read-only entity, used only for the event
+            outboxService.enqueueStatusChanged(booking, oldStatus, newStatus, metadata);
+            if (!ProviderScheduleIndex.BLOCKING_STATUSES.contains(newStatus)) {
+                scheduleIndex.removeAfterCommit(booking);
+            }
+        }
+        bookingHistoryRepository.saveAll(history);
+        Set<UUID> students = updated.stream().map(id -> bookings.get(id).getUserId()).collect(Collectors.toSet());
+        cacheEvictor.evictAfterCommit(students, List.of());
+        byOldStatus.forEach((oldStatus, group) -> bookingStatsService.recordTransitions(
+                oldStatus, newStatus, group.size(),
+                group.stream().map(b -> b.getTotalPrice() != null ? b.getTotalPrice() : BigDecimal.ZERO)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add)));
+
+        log.info(" Teacher {} moved {} bookings to {} ({} skipped)", teacherId, updated.size(), newStatus, skipped.size());
+        return BulkStatusChangeResponse.builder()
+                .status(newStatus)
+                .updated(updated)
+                .skipped(skipped)
+                .build();
+    }
+
     // ========== COMMON METHODS ==========
 
     public BookingResponse getBooking(UUID id, UUID requesterId) {
@@ -318,6 +436,20 @@ public class BookingService {
         return enrichSingleBooking(booking);
     }
 
+    public List<BookingHistoryResponse> getBookingHistory(UUID id, UUID requesterId, boolean admin) {
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found: " + id));
+
+        if (!admin && !booking.getUserId().equals(requesterId) &&
+                !booking.getProviderId().equals(requesterId)) {
+            throw new UnsupportedByAuthenticationException("You don't have access to this booking");
+        }
+
+        return bookingHistoryRepository.findByBookingIdOrderByChangedAtAsc(id).stream()
+                .map(Mapper::toHistoryResponse)
+                .toList();
+    }
+
     // ========== ADMIN METHODS ==========
 
     public List<BookingResponse> getAllBookings() {
@@ -328,25 +460,8 @@ public class BookingService {
     }
 
     public Map<String, Object> getBookingStats() {
-        log.info("Admin calculating booking statistics");
-        Map<String, Object> stats = new HashMap<>();
-
-        List<Booking> allBookings = bookingRepository.findAll();
-
-        stats.put("total", allBookings.size());
-        stats.put("pending", allBookings.stream().filter(b -> b.getStatus() == Status.PENDING).count());
-        stats.put("confirmed", allBookings.stream().filter(b -> b.getStatus() == Status.CONFIRMED).count());
-        stats.put("completed", allBookings.stream().filter(b -> b.getStatus() == Status.COMPLETED).count());
-        stats.put("cancelled", allBookings.stream().filter(b -> b.getStatus() == Status.CANCELLED).count());
-        stats.put("rejected", allBookings.stream().filter(b -> b.getStatus() == Status.REJECTED).count());
-
-        BigDecimal totalRevenue = allBookings.stream()
-                .filter(b -> b.getStatus() == Status.COMPLETED)
-                .map(Booking::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        stats.put("totalRevenue", totalRevenue);
-
-        return stats;
+        log.info("Admin fetching booking statistics");
+        return bookingStatsService.getStats();
     }
 
     @Transactional
@@ -355,11 +470,108 @@ public class BookingService {
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found: " + bookingId));
 
         bookingRepository.delete(booking);
+        bookingStatsService.recordDeleted(booking);
+        scheduleIndex.removeAfterCommit(booking);
         log.info(" Booking {} deleted by admin", bookingId);
     }
 
     // ========== PRIVATE HELPER METHODS ==========
 
+    private record Transition(Booking booking, Status oldStatus) {}
+
+    /**
+     * Moves a booking to {@code newStatus} with a single compare-and-set UPDATE, which only
+     * matches if the caller owns the booking and it is still in one of {@code fromStatuses}.
+     * When nothing matches, the booking is read once to report why: not found, not owned,
+     * or a conflicting status (including losing a race with a concurrent transition).
+     */
+    private Transition transition(UUID bookingId, UUID ownerId, boolean asStudent,
+                                  Set<Status> fromStatuses, Status newStatus,
+                                  String notOwnerMessage, String invalidStatusMessage) {
+        List<String> from = fromStatuses.stream().map(Status::name).toList();
+        List<Object[]> rows = asStudent
+                ? bookingRepository.transitionAsStudent(bookingId, ownerId, from, newStatus.name())
+                : bookingRepository.transitionAsProvider(bookingId, ownerId, from, newStatus.name());
+
+        if (!rows.isEmpty()) {
+            Object[] row = rows.get(0);
+            return new Transition((Booking) row[0], Status.valueOf((String) row[1]));
+        }
+
+        Booking current = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found: " + bookingId));
+        UUID owner = asStudent ? current.getUserId() : current.getProviderId();
+        if (!owner.equals(ownerId)) {
+            throw new UnsupportedByAuthenticationException(notOwnerMessage);
+        }
+        throw new BookingConflictException(invalidStatusMessage + " (booking is " + current.getStatus() + ")");
+    }
+
+    private record RemoteChecks(boolean userExists, ExternalServiceClient.SkillDetails skill, boolean providerExists) {}
+
+    /**
+     * Runs the remote checks for a new booking on virtual threads. The student check
+     * and the skill lookup start together; the provider check starts as soon as the
+     * skill (and so the provider id) is known. Each HTTP call carries its own deadline
+     * inside {@link ExternalServiceClient}; the group shares an overall budget on top.
+     * When the group fails or runs out of budget, a provider check that has not started
+     * yet is skipped; calls already in flight end at their own deadline.
+     */
+    private RemoteChecks runRemoteChecks(UUID userId, UUID skillId) {
+        CompletableFuture<Boolean> userExists = remoteCall(() -> externalClient.validateUser(userId));
+        CompletableFuture<ExternalServiceClient.SkillDetails> skill = remoteCall(() -> externalClient.getSkill(skillId));
+        CompletableFuture<Boolean> providerExists = skill.thenCompose(s -> s == null
+                ? CompletableFuture.completedFuture(false)
+                : remoteCall(() -> externalClient.validateUser(s.getUserId())));
+
+        try {
+            CompletableFuture.allOf(userExists, providerExists)
+                    .get(remoteCheckBudget.toMillis(), TimeUnit.MILLISECONDS);
+            return new RemoteChecks(userExists.join(), skill.join(), providerExists.join());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalServiceUnavailableException("Interrupted while validating booking", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new ExternalServiceUnavailableException("User or skill service did not respond in time", e);
+        } finally {
+            userExists.cancel(true);
+            skill.cancel(true);
+            providerExists.cancel(true);
+        }
+    }
+
+    private <T> CompletableFuture<T> remoteCall(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, remoteCallExecutor);
+    }
+
+    private BookingPage findBookingPage(String ownerField, UUID ownerId, String cursor, int size,
+                                        Status status, OffsetDateTime from, OffsetDateTime to) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        // Fetch one extra row to learn whether another page exists
+        List<Booking> rows = bookingRepository.findBy(
+                BookingSpecifications.listing(ownerField, ownerId, status, from, to, BookingCursor.decode(cursor)),
+                q -> q.sortBy(Sort.by("startTime", "id")).limit(limit + 1).all());
+
+        boolean hasMore = rows.size() > limit;
+        List<Booking> page = hasMore ? rows.subList(0, limit) : rows;
+
+        return BookingPage.builder()
+                .items(enrichBookings(page))
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? BookingCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    private static String bulkMetadata(Status newStatus, String reason) {
+        return switch (newStatus) {
+            case CONFIRMED -> "Accepted by teacher";
+            case COMPLETED -> "Completed by teacher";
+            case REJECTED -> reason != null ? "Rejected by teacher: " + reason : "Rejected by teacher";
+            default -> reason != null ? "Cancelled by teacher: " + reason : "Cancelled by teacher";
+        };
+    }
+
     private void saveHistory(UUID bookingId, Status oldStatus, Status newStatus, String metadata) {
         BookingHistory history = BookingHistory.builder()
                 .bookingId(bookingId)
@@ -370,169 +582,54 @@ public class BookingService {
         bookingHistoryRepository.save(history);
     }
 
-    private void publishBookingCreated(Booking booking) {
-        try {
-            // Fetch skill details
-            ExternalServiceClient.SkillDetails skill = externalClient.getSkill(booking.getSkillId());
-
-            // Fetch user (student) details
-            Map<String, Object> user = externalClient.getUserDetails(booking.getUserId());
-
-            // Fetch provider (teacher) details
-            Map<String, Object> provider = externalClient.getUserDetails(booking.getProviderId());
-
-            // Build complete event
-            BookingCreatedEvent event = BookingCreatedEvent.builder()
-                    .eventType("BOOKING_CREATED")
-                    .bookingId(booking.getId())
-
-                    // User (student) details
-                    .userId(booking.getUserId())
-                    .userName((String) user.get("name"))
-                    .userEmail((String) user.get("email"))
-
-                    // Provider (teacher) details
-                    .providerId(booking.getProviderId())
-                    .providerName((String) provider.get("name"))
-                    .providerEmail((String) provider.get("email"))
-
-                    // Skill details
-                    .skillId(booking.getSkillId())
-                    .skillName(skill != null ? skill.getName() : "Unknown Skill")
-
-                    // Session time
-                    .startTime(booking.getStartTime())
-                    .endTime(booking.getEndTime())
-                    .sessionTime(formatSessionTime(booking.getStartTime(), booking.getEndTime()))
-
-                    // Price and status
-                    .totalPrice(booking.getTotalPrice())
-                    .status(booking.getStatus().name())
-                    .message("")
-                    .createdAt(booking.getCreatedAt())
-                    .build();
-
-            kafkaTemplate.send(bookingEventsTopic, "booking.created", event);
-            log.info(" Published BookingCreatedEvent for booking {} with complete details", booking.getId());
-
-        } catch (Exception e) {
-            log.error(" Failed to publish BookingCreatedEvent for booking {}", booking.getId(), e);
-        }
+    private BookingResponse enrichSingleBooking(Booking booking) {
+        return enrichBookings(List.of(booking)).get(0);
     }
 
-    private void publishStatusChanged(Booking booking, Status oldStatus, Status newStatus, String reason) {
-        try {
-            // Fetch skill, user, and provider details
-            ExternalServiceClient.SkillDetails skill = externalClient.getSkill(booking.getSkillId());
-            Map<String, Object> user = externalClient.getUserDetails(booking.getUserId());
-            Map<String, Object> provider = externalClient.getUserDetails(booking.getProviderId());
-
-            // Build complete event
-            BookingStatusChangedEvent event = BookingStatusChangedEvent.builder()
-                    .eventType("BOOKING_STATUS_CHANGED")
-                    .bookingId(booking.getId())
-
-                    // User details
-                    .userId(booking.getUserId())
-                    .userName((String) user.getOrDefault("name", "User"))
-                    .userEmail((String) user.getOrDefault("email", "user@example.com"))
-
-                    // Provider details
-                    .providerId(booking.getProviderId())
-                    .providerName((String) provider.getOrDefault("name", "Provider"))
-                    .providerEmail((String) provider.getOrDefault("email", "provider@example.com"))
-
-                    // Skill details
-                    .skillId(booking.getSkillId())
-                    .skillName(skill != null ? skill.getName() : "Unknown Skill")
-
-                    // Session time
-                    .startTime(booking.getStartTime())
-                    .endTime(booking.getEndTime())
-                    .sessionTime(formatSessionTime(booking.getStartTime(), booking.getEndTime()))
-
-                    // Status change
-                    .oldStatus(oldStatus.name())
-                    .newStatus(newStatus.name())
-                    .reason(reason)
-                    .changedAt(OffsetDateTime.now())
-                    .build();
-
-            kafkaTemplate.send(bookingEventsTopic, "booking.status.changed", event);
-            log.info(" Published BookingStatusChangedEvent for booking {} with complete details", booking.getId());
+    /**
+     * Enriches a page of bookings with skill titles and user names. All distinct
+     * skill and user ids are resolved with one bulk call per downstream service,
+     * and the two calls run concurrently.
+     */
+    private List<BookingResponse> enrichBookings(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        } catch (Exception e) {
-            log.error(" Failed to publish BookingStatusChangedEvent for booking {}", booking.getId(), e);
+        Set<UUID> skillIds = new HashSet<>();
+        Set<UUID> userIds = new HashSet<>();
+        for (Booking booking : bookings) {
+            skillIds.add(booking.getSkillId());
+            userIds.add(booking.getUserId());
+            userIds.add(booking.getProviderId());
         }
-    }
 
-    private String formatSessionTime(OffsetDateTime startTime, OffsetDateTime endTime) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("hh:mm a");
-        return startTime.format(formatter) + " - " + endTime.format(formatter);
-    }
+        Tuple2<Map<UUID, ExternalServiceClient.SkillDetails>, Map<UUID, Map<String, Object>>> lookups = Mono.zip(
+                        externalClient.getSkills(skillIds),
+                        externalClient.getUserDetails(userIds))
+                .block();
 
-    private BookingResponse enrichSingleBooking(Booking booking) {
-        return enrichBooking(booking, new HashMap<>(), new HashMap<>());
-    }
-
-    private BookingResponse enrichBooking(
-            Booking booking,
-            Map<UUID, Map<String, Object>> userCache,
-            Map<UUID, ExternalServiceClient.SkillDetails> skillCache) {
+        Map<UUID, ExternalServiceClient.SkillDetails> skills = lookups != null ? lookups.getT1() : Map.of();
+        Map<UUID, Map<String, Object>> users = lookups != null ? lookups.getT2() : Map.of();
 
-        BookingResponse response = Mapper.toResponse(booking);
+        return bookings.stream()
+                .map(booking -> {
+                    BookingResponse response = Mapper.toResponse(booking);
 
-        // ---------- SKILL ----------
-        try {
-            ExternalServiceClient.SkillDetails skill = skillCache.computeIfAbsent(
-                    booking.getSkillId(),
-                    id -> {
-                        try {
-                            return externalClient.getSkill(id);
-                        } catch (Exception e) {
-                            return null;
-                        }
-                    });
-            response.setSkillTitle(skill != null ? skill.getName() : "Unknown Skill");
-        } catch (Exception e) {
-            response.setSkillTitle("Unknown Skill");
-        }
+                    ExternalServiceClient.SkillDetails skill = skills.get(booking.getSkillId());
+                    response.setSkillTitle(skill != null ? skill.getName() : "Unknown Skill");
 
-        // ---------- STUDENT ----------
-        try {
-            Map<String, Object> student = userCache.computeIfAbsent(
-                    booking.getUserId(),
-                    id -> {
-                        try {
-                            return externalClient.getUserDetails(id);
-                        } catch (Exception e) {
-                            return null;
-                        }
-                    });
-            response.setUserName(
-                    student != null ? (String) student.getOrDefault("name", "Unknown") : "Unknown");
-        } catch (Exception e) {
-            response.setUserName("Unknown");
-        }
+                    Map<String, Object> student = users.get(booking.getUserId());
+                    response.setUserName(
+                            student != null ? (String) student.getOrDefault("name", "Unknown") : "Unknown");
 
-        // ---------- TEACHER ----------
-        try {
-            Map<String, Object> provider = userCache.computeIfAbsent(
-                    booking.getProviderId(),
-                    id -> {
-                        try {
-                            return externalClient.getUserDetails(id);
-                        } catch (Exception e) {
-                            return null;
-                        }
-                    });
-            response.setProviderName(
-                    provider != null ? (String) provider.getOrDefault("name", "Unknown") : "Unknown");
-        } catch (Exception e) {
-            response.setProviderName("Unknown");
-        }
+                    Map<String, Object> provider = users.get(booking.getProviderId());
+                    response.setProviderName(
+                            provider != null ? (String) provider.getOrDefault("name", "Unknown") : "Unknown");
 
-        return response;
+                    return response;
+                })
+                .collect(Collectors.toList());
     }
 
 }
@@ -0,0 +1,126 @@
+package com.bookingservice.bookingservice.service;
+
+import com.bookingservice.bookingservice.model.Booking;
+import com.bookingservice.bookingservice.model.Status;
+import com.bookingservice.bookingservice.repository.BookingStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingStatsService {
+
+    private final BookingStatsRepository bookingStatsRepository;
+
+    @Value("${app.booking-stats.slots:16}")
+    private int slots;
+
+    // ========== INCREMENTAL UPDATES (join the caller's transaction) ==========
+
+    @Transactional
+    public void recordCreated(Booking booking) {
+        increment(booking.getStatus(), 1, price(booking));
+    }
+
+    @Transactional
+    public void recordTransition(Booking booking, Status oldStatus, Status newStatus) {
+        BigDecimal price = price(booking);
+        increment(oldStatus, -1, price.negate());
+        increment(newStatus, 1, price);
+    }
+
+    /** Moves {@code count} bookings worth {@code revenue} from one status to another. */
+    @Transactional
+    public void recordTransitions(Status oldStatus, Status newStatus, long count, BigDecimal revenue) {
+        increment(oldStatus, -count, revenue.negate());
+        increment(newStatus, count, revenue);
+    }
+
+    @Transactional
+    public void recordDeleted(Booking booking) {
+        increment(booking.getStatus(), -1, price(booking).negate());
+    }
+
+    /** Must run before the bookings are deleted, in the same transaction. */
+    @Transactional
+    public void recordBookingsDeleted(Collection<UUID> bookingIds) {
+        bookingStatsRepository.decrementForBookings(bookingIds, randomSlot());
+    }
+
+    // ========== READ ==========
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long total = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+
+        for (Status status : Status.values()) {
+            stats.put(status.name().toLowerCase(), 0L);
+        }
+        for (BookingStatsRepository.StatusTotalsView row : bookingStatsRepository.sumByStatus()) {
+            stats.put(row.getStatus().toLowerCase(), row.getBookingCount());
+            total += row.getBookingCount();
+            if (Status.COMPLETED.name().equals(row.getStatus())) {
+                totalRevenue = row.getRevenue();
+            }
+        }
+
+        stats.put("total", total);
+        stats.put("totalRevenue", totalRevenue);
+        return stats;
+    }
+
+    // ========== REBUILD ==========
+
+    /**
+     * Corrects the counters against {@code bookings} with a single GROUP BY, writing only
+     * the difference, so booking transactions keep running while it does. Runs nightly to
+     * correct any drift, and on startup when the table is empty. Every replica fires it, so
+     * it takes a transaction-scoped advisory lock and only one replica does the work; a
+     * second one running concurrently would add the same difference again.
+     */
+    @Scheduled(cron = "${app.booking-stats.rebuild-cron:0 0 3 * * *}")
+    @Transactional
+    public void rebuild() {
+        if (!bookingStatsRepository.tryReconcileLock()) {
+            log.debug("Booking stats reconcile already running on another instance, skipped");
+            return;
+        }
+        int corrected = bookingStatsRepository.reconcileWithBookings();
+        log.info("Reconciled booking stats with bookings, {} statuses corrected", corrected);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedIfEmpty() {
+        if (bookingStatsRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    private void increment(Status status, long delta, BigDecimal revenue) {
+        bookingStatsRepository.increment(status.name(), randomSlot(), delta, revenue);
+    }
+
+    private int randomSlot() {
+        return ThreadLocalRandom.current().nextInt(slots);
+    }
+
+    private BigDecimal price(Booking booking) {
+        return booking.getTotalPrice() != null ? booking.getTotalPrice() : BigDecimal.ZERO;
+    }
+}
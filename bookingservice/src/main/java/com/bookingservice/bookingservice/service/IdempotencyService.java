@@ -0,0 +1,176 @@
+package com.bookingservice.bookingservice.service;
+
+import com.bookingservice.bookingservice.DTO.BookingCreateRequest;
+import com.bookingservice.bookingservice.DTO.BookingResponse;
+import com.bookingservice.bookingservice.exception.BookingConflictException;
+import com.bookingservice.bookingservice.model.IdempotencyRecord;
+import com.bookingservice.bookingservice.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Deduplicates createBooking retries that carry the same {@code Idempotency-Key}.
+ * Keys are scoped to the calling user and stored with the original response in
+ * {@code booking_idempotency_keys}; recently completed keys are also kept in a
+ * small in-memory cache so most retries never reach the database.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+    private static final int CLEANUP_BATCH = 1000;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Replay> recent;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    private record Replay(String requestHash, BookingResponse response) {}
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.idempotency.cache-size:10000}") long cacheSize,
+                              @Value("${app.idempotency.cache-ttl:10m}") Duration cacheTtl) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recent, "idempotencyKeys");
+    }
+
+    /**
+     * Claims {@code key} for this user within the caller's transaction, or returns
+     * the stored response if an earlier request with the key already completed.
+     * A claim is released automatically if the caller's transaction rolls back.
+     */
+    @Transactional
+    public Optional<BookingResponse> claimOrReplay(UUID userId, String key, BookingCreateRequest request) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+
+        Replay cached = recent.getIfPresent(cacheKey(userId, key));
+        if (cached != null) {
+            return Optional.of(checked(cached, requestHash));
+        }
+
+        if (repository.claim(userId, key, requestHash, OffsetDateTime.now().plus(ttl)) == 1) {
+            return Optional.empty();
+        }
+
+        IdempotencyRecord existing = repository.findByUserIdAndIdempotencyKey(userId, key)
+                .orElseThrow(() -> new IllegalStateException("Idempotency key vanished: " + key));
+        if (existing.getResponse() == null) {
+            throw new BookingConflictException("A request with this Idempotency-Key is still being processed");
+        }
+        Replay replay = new Replay(existing.getRequestHash(), read(existing.getResponse()));
+        recent.put(cacheKey(userId, key), replay);
+        log.info("Replaying createBooking for user {} with Idempotency-Key {}", userId, key);
+        return Optional.of(checked(replay, requestHash));
+    }
+
+    /** Stores the response for a claimed key; joins the booking transaction. */
+    @Transactional
+    public void complete(UUID userId, String key, BookingResponse response) {
+        IdempotencyRecord record = repository.findByUserIdAndIdempotencyKey(userId, key)
+                .orElseThrow(() -> new IllegalStateException("Idempotency key was not claimed: " + key));
+        record.setBookingId(response.getId());
+        record.setResponse(write(response));
+
+        Replay replay = new Replay(record.getRequestHash(), response);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recent.put(cacheKey(userId, key), replay);
+            }
+        });
+    }
+
+    // Each chunk commits on its own, so row locks and WAL are released as the cleanup goes
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:3600000}", initialDelay = 120000)
+    public void deleteExpired() {
+        int deleted;
+        int total = 0;
+        do {
+            Integer chunk = transactionTemplate.execute(status ->
+                    repository.deleteExpired(OffsetDateTime.now(), CLEANUP_BATCH));
+            deleted = chunk != null ? chunk : 0;
+            total += deleted;
+        } while (deleted == CLEANUP_BATCH);
+        if (total > 0) {
+            log.info("Deleted {} expired idempotency keys", total);
+        }
+    }
+
+    private static BookingResponse checked(Replay replay, String requestHash) {
+        if (!replay.requestHash().equals(requestHash)) {
+            throw new ValidationException("Idempotency-Key was already used for a different booking request");
+        }
+        return replay.response();
+    }
+
+    private static String cacheKey(UUID userId, String key) {
+        return userId + ":" + key;
+    }
+
+    private String hash(BookingCreateRequest request) {
+        String canonical = request.getSkillId() + "|"
+                + request.getStartTime().toInstant() + "|" + request.getEndTime().toInstant();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String write(BookingResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize booking response", e);
+        }
+    }
+
+    private BookingResponse read(String json) {
+        try {
+            return objectMapper.readValue(json, BookingResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored booking response", e);
+        }
+    }
+}
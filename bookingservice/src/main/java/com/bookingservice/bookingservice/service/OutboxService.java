@@ -0,0 +1,197 @@
+package com.bookingservice.bookingservice.service;
+
+import com.bookingservice.bookingservice.events.BookingCreatedEvent;
+import com.bookingservice.bookingservice.events.BookingReminderEvent;
+import com.bookingservice.bookingservice.events.BookingStatusChangedEvent;
+import com.bookingservice.bookingservice.model.Booking;
+import com.bookingservice.bookingservice.model.OutboxDeadLetter;
+import com.bookingservice.bookingservice.model.OutboxEvent;
+import com.bookingservice.bookingservice.model.Status;
+import com.bookingservice.bookingservice.repository.OutboxDeadLetterRepository;
+import com.bookingservice.bookingservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    public static final String BOOKING_CREATED = "BOOKING_CREATED";
+    public static final String BOOKING_STATUS_CHANGED = "BOOKING_STATUS_CHANGED";
+    public static final String BOOKING_REMINDER = "BOOKING_REMINDER";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeadLetterRepository deadLetterRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.outbox.lease:30s}")
+    private Duration lease;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.backoff-initial:2s}")
+    private Duration backoffInitial;
+
+    @Value("${app.outbox.backoff-max:10m}")
+    private Duration backoffMax;
+
+    // ========== WRITE SIDE (joins the booking transaction) ==========
+
+    @Transactional
+    public void enqueueBookingCreated(Booking booking) {
+        BookingCreatedEvent event = BookingCreatedEvent.builder()
+                .eventType(BOOKING_CREATED)
+                .bookingId(booking.getId())
+                .userId(booking.getUserId())
+                .providerId(booking.getProviderId())
+                .skillId(booking.getSkillId())
+                .startTime(booking.getStartTime())
+                .endTime(booking.getEndTime())
+                .sessionTime(formatSessionTime(booking.getStartTime(), booking.getEndTime()))
+                .totalPrice(booking.getTotalPrice())
+                .status(booking.getStatus().name())
+                .message("")
+                .createdAt(booking.getCreatedAt())
+                .build();
+        save(booking.getId(), BOOKING_CREATED, "booking.created", event);
+    }
+
+    @Transactional
+    public void enqueueStatusChanged(Booking booking, Status oldStatus, Status newStatus, String reason) {
+        BookingStatusChangedEvent event = BookingStatusChangedEvent.builder()
+                .eventType(BOOKING_STATUS_CHANGED)
+                .bookingId(booking.getId())
+                .userId(booking.getUserId())
+                .providerId(booking.getProviderId())
+                .skillId(booking.getSkillId())
+                .startTime(booking.getStartTime())
+                .endTime(booking.getEndTime())
+                .sessionTime(formatSessionTime(booking.getStartTime(), booking.getEndTime()))
+                .oldStatus(oldStatus.name())
+                .newStatus(newStatus.name())
+                .reason(reason)
+                .changedAt(OffsetDateTime.now())
+                .build();
+        save(booking.getId(), BOOKING_STATUS_CHANGED, "booking.status.changed", event);
+    }
+
+    @Transactional
+    public void enqueueReminder(Booking booking) {
+        BookingReminderEvent event = BookingReminderEvent.builder()
+                .eventType(BOOKING_REMINDER)
+                .bookingId(booking.getId())
+                .userId(booking.getUserId())
+                .providerId(booking.getProviderId())
+                .skillId(booking.getSkillId())
+                .startTime(booking.getStartTime())
+                .endTime(booking.getEndTime())
+                .sessionTime(formatSessionTime(booking.getStartTime(), booking.getEndTime()))
+                .build();
+        save(booking.getId(), BOOKING_REMINDER, "booking.reminder", event);
+    }
+
+    // ========== RELAY SIDE (short transactions, no remote I/O inside) ==========
+
+    /**
+     * Claims up to {@code limit} pending rows by leasing them for {@code app.outbox.lease}.
+     * A row whose relay dies is picked up again once the lease runs out.
+     */
+    @Transactional
+    public List<OutboxEvent> claimBatch(int limit) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.findClaimable(now, limit);
+        batch.forEach(e -> {
+            e.setLockedUntil(now.plus(lease));
+            e.setAttempts(e.getAttempts() + 1);
+        });
+        return batch;
+    }
+
+    @Transactional
+    public void markPublished(Collection<UUID> ids) {
+        if (!ids.isEmpty()) {
+            outboxEventRepository.deleteByIds(ids);
+        }
+    }
+
+    /**
+     * Schedules a retry with exponential backoff, or moves the row to the dead-letter
+     * table once {@code app.outbox.max-attempts} is reached.
+     */
+    @Transactional
+    public void markFailed(UUID id, String error) {
+        outboxEventRepository.findById(id).ifPresent(e -> {
+            String reason = truncate(error);
+            if (e.getAttempts() >= maxAttempts) {
+                deadLetterRepository.save(OutboxDeadLetter.builder()
+                        .id(e.getId())
+                        .bookingId(e.getBookingId())
+                        .eventType(e.getEventType())
+                        .messageKey(e.getMessageKey())
+                        .payload(e.getPayload())
+                        .attempts(e.getAttempts())
+                        .lastError(reason)
+                        .createdAt(e.getCreatedAt())
+                        .failedAt(OffsetDateTime.now())
+                        .build());
+                outboxEventRepository.delete(e);
+                log.error("Outbox row {} ({}) dead-lettered after {} attempts: {}",
+                        e.getId(), e.getEventType(), e.getAttempts(), reason);
+                return;
+            }
+            // The claim query skips rows until locked_until, so the lease doubles as the retry delay
+            e.setLastError(reason);
+            e.setLockedUntil(OffsetDateTime.now().plus(backoff(e.getAttempts())));
+        });
+    }
+
+    public <T> T readPayload(OutboxEvent event, Class<T> type) throws JsonProcessingException {
+        return objectMapper.readValue(event.getPayload(), type);
+    }
+
+    private void save(UUID bookingId, String eventType, String messageKey, Object event) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .bookingId(bookingId)
+                    .eventType(eventType)
+                    .messageKey(messageKey)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        } catch (JsonProcessingException e) {
+            // Fail the booking transaction rather than silently dropping the event
+            throw new IllegalStateException("Failed to serialize " + eventType + " for booking " + bookingId, e);
+        }
+    }
+
+    // initial * 2^(attempts-1), capped, with +-20% jitter so a broker outage does not retry in lockstep
+    private Duration backoff(int attempts) {
+        long base = backoffInitial.toMillis() << Math.min(Math.max(attempts - 1, 0), 20);
+        long capped = Math.min(base, backoffMax.toMillis());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (capped * jitter));
+    }
+
+    private String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    private String formatSessionTime(OffsetDateTime startTime, OffsetDateTime endTime) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("hh:mm a");
+        return startTime.format(formatter) + " - " + endTime.format(formatter);
+    }
+}
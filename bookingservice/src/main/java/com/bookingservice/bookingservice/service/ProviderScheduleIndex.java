@@ -0,0 +1,162 @@
+package com.bookingservice.bookingservice.service;
+
+import com.bookingservice.bookingservice.model.Booking;
+import com.bookingservice.bookingservice.model.Status;
+import com.bookingservice.bookingservice.repository.BookingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * In-memory index of each provider's PENDING and CONFIRMED sessions. A hit lets
+ * a likely conflict be confirmed with a plain read instead of waiting on
+ * {@link BookingRepository#lockProviderSchedule}. It never rejects a booking by
+ * itself, because it only sees commits made on this instance. A provider's
+ * schedule is loaded on first use, kept in a bounded cache and refreshed after
+ * commit whenever this instance changes that provider's bookings. The TTL
+ * bounds staleness caused by changes made on other instances.
+ */
+@Component
+@Slf4j
+public class ProviderScheduleIndex {
+
+    public static final Set<Status> BLOCKING_STATUSES = EnumSet.of(Status.PENDING, Status.CONFIRMED);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<UUID, ProviderSchedule> schedules;
+
+    public ProviderScheduleIndex(
+            BookingRepository bookingRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.schedule-index.max-providers:10000}") long maxProviders,
+            @Value("${app.schedule-index.ttl:2m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxProviders)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, schedules, "providerSchedules");
+    }
+
+    /**
+     * Returns the id of a known active booking overlapping [start, end), if any.
+     */
+    public Optional<UUID> findConflict(UUID providerId, OffsetDateTime start, OffsetDateTime end) {
+        return schedules.get(providerId, this::load)
+                .findOverlap(toMillis(start), toMillis(end));
+    }
+
+    /**
+     * Adds a newly created booking once the surrounding transaction commits.
+     */
+    public void addAfterCommit(Booking booking) {
+        afterCommit(() -> {
+            ProviderSchedule schedule = schedules.getIfPresent(booking.getProviderId());
+            if (schedule != null) {
+                schedule.add(booking.getId(), toMillis(booking.getStartTime()), toMillis(booking.getEndTime()));
+            }
+        });
+    }
+
+    /**
+     * Drops a booking that no longer blocks its slot once the surrounding transaction commits.
+     */
+    public void removeAfterCommit(Booking booking) {
+        afterCommit(() -> {
+            ProviderSchedule schedule = schedules.getIfPresent(booking.getProviderId());
+            if (schedule != null) {
+                schedule.remove(booking.getId());
+            }
+        });
+    }
+
+    public void evict(UUID providerId) {
+        schedules.invalidate(providerId);
+    }
+
+    private ProviderSchedule load(UUID providerId) {
+        ProviderSchedule schedule = new ProviderSchedule();
+        bookingRepository.findByProviderIdAndStatusInAndEndTimeAfter(providerId, BLOCKING_STATUSES, OffsetDateTime.now())
+                .forEach(b -> schedule.add(b.getId(), toMillis(b.getStartTime()), toMillis(b.getEndTime())));
+        log.debug("Loaded {} active sessions into schedule index for provider {}", schedule.size(), providerId);
+        return schedule;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long toMillis(OffsetDateTime time) {
+        return time.toInstant().toEpochMilli();
+    }
+
+    /**
+     * Intervals ordered by start time. Because the longest interval is tracked,
+     * an overlap query only scans entries starting in
+     * [start - longest, end), which makes the index behave as an interval tree
+     * for the short sessions bookings actually have.
+     */
+    static final class ProviderSchedule {
+
+        private record Slot(long start, long end, UUID bookingId) {}
+
+        private static final Comparator<Slot> ORDER =
+                Comparator.comparingLong(Slot::start).thenComparing(Slot::bookingId);
+
+        private final NavigableSet<Slot> byStart = new TreeSet<>(ORDER);
+        private final Map<UUID, Slot> byId = new HashMap<>();
+        private long longest;
+
+        synchronized Optional<UUID> findOverlap(long start, long end) {
+            Slot from = new Slot(start - longest, Long.MIN_VALUE, new UUID(Long.MIN_VALUE, Long.MIN_VALUE));
+            Slot to = new Slot(end, Long.MIN_VALUE, new UUID(Long.MIN_VALUE, Long.MIN_VALUE));
+            for (Slot slot : byStart.subSet(from, true, to, false)) {
+                if (slot.end() > start) {
+                    return Optional.of(slot.bookingId());
+                }
+            }
+            return Optional.empty();
+        }
+
+        synchronized void add(UUID bookingId, long start, long end) {
+            Slot slot = new Slot(start, end, bookingId);
+            Slot previous = byId.put(bookingId, slot);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+            byStart.add(slot);
+            longest = Math.max(longest, end - start);
+        }
+
+        synchronized void remove(UUID bookingId) {
+            Slot slot = byId.remove(bookingId);
+            if (slot != null) {
+                byStart.remove(slot);
+            }
+        }
+
+        synchronized int size() {
+            return byId.size();
+        }
+    }
+}
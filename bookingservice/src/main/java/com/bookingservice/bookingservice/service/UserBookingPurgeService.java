@@ -0,0 +1,133 @@
+package com.bookingservice.bookingservice.service;
+
+import com.bookingservice.bookingservice.model.BookingPurgeJob;
+import com.bookingservice.bookingservice.repository.BookingHistoryRepository;
+import com.bookingservice.bookingservice.repository.BookingPurgeJobRepository;
+import com.bookingservice.bookingservice.repository.BookingRepository;
+import com.bookingservice.bookingservice.repository.BookingRepository.BookingParticipants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Removes all bookings (and their history) where a deleted user is the student
+ * or the provider. Work is split into chunks of {@code app.user-purge.chunk-size}
+ * bookings, each deleted with bulk statements in its own short transaction, and
+ * progress is kept in {@link BookingPurgeJob} so an interrupted purge resumes
+ * where it stopped.
+ */
+@Service
+@Slf4j
+public class UserBookingPurgeService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final BookingPurgeJobRepository purgeJobRepository;
+    private final BookingStatsService bookingStatsService;
+    private final BookingCacheEvictor cacheEvictor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.user-purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.user-purge.resume-after:5m}")
+    private Duration resumeAfter;
+
+    public UserBookingPurgeService(BookingRepository bookingRepository,
+                                   BookingHistoryRepository bookingHistoryRepository,
+                                   BookingPurgeJobRepository purgeJobRepository,
+                                   BookingStatsService bookingStatsService,
+                                   BookingCacheEvictor cacheEvictor,
+                                   PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.bookingHistoryRepository = bookingHistoryRepository;
+        this.purgeJobRepository = purgeJobRepository;
+        this.bookingStatsService = bookingStatsService;
+        this.cacheEvictor = cacheEvictor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void purge(UUID userId) {
+        transactionTemplate.executeWithoutResult(tx -> startJob(userId));
+
+        List<BookingParticipants> chunk;
+        do {
+            chunk = transactionTemplate.execute(tx -> purgeChunk(userId));
+            evictCaches(userId, chunk);   // after commit, so readers cannot re-cache deleted rows
+        } while (!chunk.isEmpty());
+
+        BookingPurgeJob job = purgeJobRepository.findById(userId).orElseThrow();
+        log.info("Purged {} bookings and {} history rows for deleted user {}",
+                job.getDeletedBookings(), job.getDeletedHistory(), userId);
+    }
+
+    /**
+     * Picks up purges that stopped making progress, e.g. because the pod died mid-way.
+     */
+    @Scheduled(fixedDelayString = "${app.user-purge.resume-interval-ms:300000}", initialDelay = 60000)
+    public void resumeUnfinished() {
+        OffsetDateTime staleBefore = OffsetDateTime.now().minus(resumeAfter);
+        for (BookingPurgeJob job : purgeJobRepository.findByStatusAndUpdatedAtBefore(BookingPurgeJob.RUNNING, staleBefore)) {
+            log.info("Resuming booking purge for user {} ({} bookings already deleted)",
+                    job.getUserId(), job.getDeletedBookings());
+            try {
+                purge(job.getUserId());
+            } catch (Exception e) {
+                log.error("Failed to resume booking purge for user {}", job.getUserId(), e);
+            }
+        }
+    }
+
+    private void startJob(UUID userId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        BookingPurgeJob job = purgeJobRepository.findById(userId)
+                .orElseGet(() -> BookingPurgeJob.builder().userId(userId).startedAt(now).build());
+        job.setStatus(BookingPurgeJob.RUNNING);
+        job.setUpdatedAt(now);
+        job.setCompletedAt(null);
+        purgeJobRepository.save(job);
+    }
+
+    private List<BookingParticipants> purgeChunk(UUID userId) {
+        BookingPurgeJob job = purgeJobRepository.lockByUserId(userId).orElseThrow();
+        List<BookingParticipants> chunk = bookingRepository.findParticipantsByUser(userId, PageRequest.of(0, chunkSize));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        job.setUpdatedAt(now);
+        if (chunk.isEmpty()) {
+            job.setStatus(BookingPurgeJob.COMPLETED);
+            job.setCompletedAt(now);
+            return chunk;
+        }
+
+        List<UUID> ids = chunk.stream().map(BookingParticipants::getId).toList();
+        bookingStatsService.recordBookingsDeleted(ids);
+        job.setDeletedHistory(job.getDeletedHistory() + bookingHistoryRepository.deleteByBookingIdIn(ids));
+        job.setDeletedBookings(job.getDeletedBookings() + bookingRepository.deleteByIdIn(ids));
+        return chunk;
+    }
+
+    private void evictCaches(UUID userId, List<BookingParticipants> chunk) {
+        Set<UUID> students = new HashSet<>();
+        Set<UUID> providers = new HashSet<>();
+        students.add(userId);
+        providers.add(userId);
+        for (BookingParticipants booking : chunk) {
+            students.add(booking.getUserId());
+            providers.add(booking.getProviderId());
+        }
+
+        cacheEvictor.evict(students, providers);
+    }
+}
@@ -0,0 +1,120 @@
+package com.bookingservice.bookingservice.kafka;
+
+import com.bookingservice.bookingservice.config.ExternalServiceClient;
+import com.bookingservice.bookingservice.events.BookingCreatedEvent;
+import com.bookingservice.bookingservice.model.OutboxEvent;
+import com.bookingservice.bookingservice.service.OutboxService;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingEventRelayTest {
+
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private ExternalServiceClient externalClient;
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private BookingEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new BookingEventRelay(outboxService, externalClient, kafkaTemplate);
+        ReflectionTestUtils.setField(relay, "bookingEventsTopic", "booking-events");
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "sendTimeout", Duration.ofSeconds(1));
+    }
+
+    private static OutboxEvent row() {
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .bookingId(UUID.randomUUID())
+                .eventType(OutboxService.BOOKING_CREATED)
+                .messageKey("booking.created")
+                .payload("{}")
+                .attempts(1)
+                .build();
+    }
+
+    private static BookingCreatedEvent event() {
+        BookingCreatedEvent event = new BookingCreatedEvent();
+        event.setSkillId(UUID.randomUUID());
+        event.setUserId(UUID.randomUUID());
+        event.setProviderId(UUID.randomUUID());
+        return event;
+    }
+
+    @Test
+    void deletesOnlyRowsTheBrokerAcknowledged() throws Exception {
+        OutboxEvent acked = row();
+        OutboxEvent rejected = row();
+        BookingCreatedEvent ackedEvent = event();
+        BookingCreatedEvent rejectedEvent = event();
+        when(outboxService.claimBatch(100)).thenReturn(List.of(acked, rejected));
+        when(outboxService.readPayload(acked, BookingCreatedEvent.class)).thenReturn(ackedEvent);
+        when(outboxService.readPayload(rejected, BookingCreatedEvent.class)).thenReturn(rejectedEvent);
+        when(externalClient.getSkills(anyCollection())).thenReturn(Mono.just(Map.of()));
+        when(externalClient.getUserDetails(anyCollection())).thenReturn(Mono.just(Map.of()));
+        when(kafkaTemplate.send("booking-events", "booking.created", ackedEvent))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+        when(kafkaTemplate.send("booking-events", "booking.created", rejectedEvent))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("not leader")));
+
+        relay.relay();
+
+        verify(outboxService).markPublished(List.of(acked.getId()));
+        verify(outboxService).markFailed(eq(rejected.getId()), anyString());
+        verify(outboxService, never()).markFailed(eq(acked.getId()), any());
+    }
+
+    @Test
+    void unreadableRowIsFailedWithoutBeingSent() throws Exception {
+        OutboxEvent broken = row();
+        when(outboxService.claimBatch(100)).thenReturn(List.of(broken));
+        when(outboxService.readPayload(broken, BookingCreatedEvent.class))
+                .thenThrow(new JsonParseException(null, "bad json"));
+        when(externalClient.getSkills(anyCollection())).thenReturn(Mono.just(Map.of()));
+        when(externalClient.getUserDetails(anyCollection())).thenReturn(Mono.just(Map.of()));
+
+        relay.relay();
+
+        verify(outboxService).markFailed(eq(broken.getId()), anyString());
+        verify(outboxService).markPublished(List.of());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void emptyClaimDoesNothing() {
+        when(outboxService.claimBatch(100)).thenReturn(List.of());
+
+        relay.relay();
+
+        verifyNoInteractions(externalClient, kafkaTemplate);
+        verify(outboxService, never()).markPublished(any());
+    }
+}
@@ -0,0 +1,213 @@
+package com.bookingservice.bookingservice.service;
+
+import com.bookingservice.bookingservice.DTO.BookingCreateRequest;
+import com.bookingservice.bookingservice.DTO.BulkStatusChangeRequest;
+import com.bookingservice.bookingservice.DTO.BulkStatusChangeResponse;
+import com.bookingservice.bookingservice.config.ExternalServiceClient;
+import com.bookingservice.bookingservice.exception.BookingConflictException;
+import com.bookingservice.bookingservice.model.Booking;
+import com.bookingservice.bookingservice.model.BookingHistory;
+import com.bookingservice.bookingservice.model.Status;
+import com.bookingservice.bookingservice.repository.BookingHistoryRepository;
+import com.bookingservice.bookingservice.repository.BookingRepository;
+import org.apache.kafka.common.errors.UnsupportedByAuthenticationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BookingHistoryRepository bookingHistoryRepository;
+    @Mock
+    private ExternalServiceClient externalClient;
+    @Mock
+    private BookingStatsService bookingStatsService;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private ProviderScheduleIndex scheduleIndex;
+    @Mock
+    private IdempotencyService idempotencyService;
+    @Mock
+    private BookingCacheEvictor cacheEvictor;
+
+    private final ExecutorService remoteCallExecutor = Executors.newCachedThreadPool();
+    private BookingService bookingService;
+
+    private final UUID studentId = UUID.randomUUID();
+    private final UUID providerId = UUID.randomUUID();
+    private final UUID skillId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        bookingService = new BookingService(bookingRepository, bookingHistoryRepository, externalClient,
+                bookingStatsService, outboxService, scheduleIndex, remoteCallExecutor, idempotencyService,
+                cacheEvictor);
+        ReflectionTestUtils.setField(bookingService, "remoteCheckBudget", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        remoteCallExecutor.shutdownNow();
+    }
+
+    @Nested
+    class OverlapCheck {
+
+        private final OffsetDateTime start = OffsetDateTime.now().plusDays(1);
+        private final OffsetDateTime end = start.plusHours(1);
+        private final BookingCreateRequest request = new BookingCreateRequest(skillId, start, end);
+
+        @BeforeEach
+        void remoteChecksPass() {
+            when(externalClient.validateUser(any())).thenReturn(true);
+            when(externalClient.getSkill(skillId)).thenReturn(new ExternalServiceClient.SkillDetails(
+                    skillId, providerId, "Guitar", "", BigDecimal.valueOf(40), "ACTIVE"));
+        }
+
+        @Test
+        void indexHitConfirmedByTheDatabaseIsRejectedWithoutWaitingForTheLock() {
+            when(scheduleIndex.findConflict(providerId, start, end)).thenReturn(Optional.of(UUID.randomUUID()));
+            when(bookingRepository.existsOverlapping(providerId, ProviderScheduleIndex.BLOCKING_STATUSES, start, end))
+                    .thenReturn(true);
+
+            assertThatThrownBy(() -> bookingService.createBooking(studentId, request, null))
+                    .isInstanceOf(BookingConflictException.class);
+            verify(bookingRepository, never()).lockProviderSchedule(any());
+            verify(bookingRepository, never()).save(any());
+        }
+
+        @Test
+        void staleIndexHitIsDroppedAndTheBookingIsCreated() {
+            when(scheduleIndex.findConflict(providerId, start, end)).thenReturn(Optional.of(UUID.randomUUID()));
+            when(bookingRepository.existsOverlapping(providerId, ProviderScheduleIndex.BLOCKING_STATUSES, start, end))
+                    .thenReturn(false);
+            when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> {
+                Booking booking = inv.getArgument(0);
+                booking.setId(UUID.randomUUID());
+                return booking;
+            });
+            when(externalClient.getSkills(anyCollection())).thenReturn(Mono.just(Map.of()));
+            when(externalClient.getUserDetails(anyCollection())).thenReturn(Mono.just(Map.of()));
+
+            bookingService.createBooking(studentId, request, null);
+
+            InOrder order = inOrder(scheduleIndex, bookingRepository);
+            order.verify(scheduleIndex).evict(providerId);
+            order.verify(bookingRepository).lockProviderSchedule(providerId);
+            order.verify(bookingRepository).save(any(Booking.class));
+        }
+
+        @Test
+        void overlapFoundUnderTheLockIsRejectedEvenWithoutAnIndexHit() {
+            when(scheduleIndex.findConflict(providerId, start, end)).thenReturn(Optional.empty());
+            when(bookingRepository.existsOverlapping(providerId, ProviderScheduleIndex.BLOCKING_STATUSES, start, end))
+                    .thenReturn(true);
+
+            assertThatThrownBy(() -> bookingService.createBooking(studentId, request, null))
+                    .isInstanceOf(BookingConflictException.class);
+
+            InOrder order = inOrder(bookingRepository);
+            order.verify(bookingRepository).lockProviderSchedule(providerId);
+            order.verify(bookingRepository).existsOverlapping(providerId, ProviderScheduleIndex.BLOCKING_STATUSES, start, end);
+            verify(scheduleIndex).evict(providerId);
+            verify(bookingRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    class BulkStatusChange {
+
+        private Booking booking(Status status) {
+            return Booking.builder()
+                    .id(UUID.randomUUID())
+                    .userId(UUID.randomUUID())
+                    .providerId(providerId)
+                    .skillId(skillId)
+                    .startTime(OffsetDateTime.now().plusDays(1))
+                    .endTime(OffsetDateTime.now().plusDays(1).plusHours(1))
+                    .totalPrice(BigDecimal.valueOf(50))
+                    .status(status)
+                    .build();
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void recordsTheStatusEachBookingHadWhenTheUpdateLockedIt() {
+            Booking confirmedMeanwhile = booking(Status.PENDING);
+            Booking changedElsewhere = booking(Status.PENDING);
+            Booking completed = booking(Status.COMPLETED);
+            List<UUID> ids = List.of(confirmedMeanwhile.getId(), changedElsewhere.getId(), completed.getId());
+            when(bookingRepository.findByIdIn(Set.copyOf(ids)))
+                    .thenReturn(List.of(confirmedMeanwhile, changedElsewhere, completed));
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[]{confirmedMeanwhile, "CONFIRMED"});
+            when(bookingRepository.transitionBulkAsProvider(
+                    eq(List.of(confirmedMeanwhile.getId(), changedElsewhere.getId())), eq(providerId),
+                    anyCollection(), eq("CANCELLED")))
+                    .thenReturn(rows);
+
+            BulkStatusChangeResponse response = bookingService.bulkChangeStatus(providerId,
+                    new BulkStatusChangeRequest(ids, Status.CANCELLED, "ill"));
+
+            assertThat(response.getUpdated()).containsExactly(confirmedMeanwhile.getId());
+            assertThat(response.getSkipped()).containsOnlyKeys(changedElsewhere.getId(), completed.getId());
+
+            ArgumentCaptor<List<BookingHistory>> history = ArgumentCaptor.forClass(List.class);
+            verify(bookingHistoryRepository).saveAll(history.capture());
+            assertThat(history.getValue()).singleElement()
+                    .satisfies(h -> assertThat(h.getOldStatus()).isEqualTo("CONFIRMED"));
+            verify(outboxService).enqueueStatusChanged(eq(confirmedMeanwhile), eq(Status.CONFIRMED),
+                    eq(Status.CANCELLED), anyString());
+            verify(bookingStatsService).recordTransitions(Status.CONFIRMED, Status.CANCELLED, 1, BigDecimal.valueOf(50));
+            verify(cacheEvictor).evictAfterCommit(Set.of(confirmedMeanwhile.getUserId()), List.of());
+        }
+
+        @Test
+        void bookingOfAnotherProviderFailsTheWholeRequest() {
+            Booking foreign = booking(Status.PENDING);
+            foreign.setProviderId(UUID.randomUUID());
+            when(bookingRepository.findByIdIn(Set.of(foreign.getId()))).thenReturn(List.of(foreign));
+
+            assertThatThrownBy(() -> bookingService.bulkChangeStatus(providerId,
+                    new BulkStatusChangeRequest(List.of(foreign.getId()), Status.CONFIRMED, null)))
+                    .isInstanceOf(UnsupportedByAuthenticationException.class);
+            verify(bookingRepository, never()).transitionBulkAsProvider(any(), any(), any(), any());
+        }
+    }
+}
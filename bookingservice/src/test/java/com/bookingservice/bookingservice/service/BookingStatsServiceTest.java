@@ -0,0 +1,120 @@
+package com.bookingservice.bookingservice.service;
+
+import com.bookingservice.bookingservice.repository.BookingStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Two replicas share one {@link BookingStatsRepository}, backed here by a small model of
+ * {@code bookings}, the slot table and the advisory lock: the reconcile reads the
+ * difference from its snapshot and adds it on commit, like the real upsert.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingStatsServiceTest {
+
+    @Mock
+    private BookingStatsRepository repository;
+
+    private final Map<String, Long> bookings = new HashMap<>();
+    private final Map<String, Long> slots = new HashMap<>();
+    private boolean lockHeld;
+    private Runnable whileReconciling = () -> {};
+
+    private BookingStatsService replicaA;
+    private BookingStatsService replicaB;
+
+    @BeforeEach
+    void setUp() {
+        replicaA = replica();
+        replicaB = replica();
+
+        bookings.put("PENDING", 3L);
+        bookings.put("COMPLETED", 2L);
+
+        lenient().when(repository.tryReconcileLock()).thenAnswer(inv -> {
+            if (lockHeld) {
+                return false;
+            }
+            lockHeld = true;
+            return true;
+        });
+        lenient().when(repository.reconcileWithBookings()).thenAnswer(inv -> {
+            Map<String, Long> difference = new HashMap<>(bookings);
+            slots.forEach((status, count) -> difference.merge(status, -count, Long::sum));
+            whileReconciling.run();
+            difference.forEach((status, delta) -> slots.merge(status, delta, Long::sum));
+            lockHeld = false;   // transaction ends
+            return (int) difference.values().stream().filter(d -> d != 0).count();
+        });
+        lenient().when(repository.sumByStatus()).thenAnswer(inv -> slots.entrySet().stream()
+                .map(e -> view(e.getKey(), e.getValue()))
+                .toList());
+    }
+
+    private BookingStatsService replica() {
+        BookingStatsService service = new BookingStatsService(repository);
+        ReflectionTestUtils.setField(service, "slots", 4);
+        return service;
+    }
+
+    private static BookingStatsRepository.StatusTotalsView view(String status, long count) {
+        return new BookingStatsRepository.StatusTotalsView() {
+            public String getStatus() {
+                return status;
+            }
+
+            public long getBookingCount() {
+                return count;
+            }
+
+            public BigDecimal getRevenue() {
+                return BigDecimal.ZERO;
+            }
+        };
+    }
+
+    @Test
+    void reconcilingTwiceLeavesTheCountsMatchingTheBookings() {
+        replicaA.rebuild();
+        replicaB.rebuild();
+
+        Map<String, Object> stats = replicaA.getStats();
+        assertThat(stats).containsEntry("pending", 3L).containsEntry("completed", 2L).containsEntry("total", 5L);
+    }
+
+    @Test
+    void reconcileStartedWhileAnotherReplicaHoldsTheLockIsSkipped() {
+        whileReconciling = () -> {
+            whileReconciling = () -> {};
+            replicaB.rebuild();
+        };
+
+        replicaA.rebuild();
+
+        assertThat(replicaA.getStats())
+                .containsEntry("pending", 3L).containsEntry("completed", 2L).containsEntry("total", 5L);
+    }
+
+    @Test
+    void driftIsCorrectedOnTheNextRun() {
+        slots.put("PENDING", 7L);
+        slots.put("CANCELLED", 1L);
+
+        replicaB.rebuild();
+        replicaA.rebuild();
+
+        assertThat(replicaB.getStats())
+                .containsEntry("pending", 3L).containsEntry("cancelled", 0L).containsEntry("total", 5L);
+    }
+}
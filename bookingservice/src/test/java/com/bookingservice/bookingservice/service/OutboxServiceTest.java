@@ -0,0 +1,116 @@
+package com.bookingservice.bookingservice.service;
+
+import com.bookingservice.bookingservice.model.OutboxDeadLetter;
+import com.bookingservice.bookingservice.model.OutboxEvent;
+import com.bookingservice.bookingservice.repository.OutboxDeadLetterRepository;
+import com.bookingservice.bookingservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OutboxDeadLetterRepository deadLetterRepository;
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxEventRepository, deadLetterRepository, new ObjectMapper());
+        ReflectionTestUtils.setField(outboxService, "lease", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(outboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxService, "backoffInitial", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(outboxService, "backoffMax", Duration.ofMinutes(10));
+    }
+
+    private static OutboxEvent row(int attempts) {
+        return OutboxEvent.builder()
+                .id(UUID.randomUUID())
+                .bookingId(UUID.randomUUID())
+                .eventType(OutboxService.BOOKING_CREATED)
+                .messageKey("booking.created")
+                .payload("{}")
+                .attempts(attempts)
+                .createdAt(OffsetDateTime.now().minusMinutes(5))
+                .build();
+    }
+
+    @Test
+    void claimLeasesEachRowAndCountsTheAttempt() {
+        OutboxEvent first = row(0);
+        OutboxEvent retried = row(2);
+        when(outboxEventRepository.findClaimable(any(), anyInt())).thenReturn(List.of(first, retried));
+
+        OffsetDateTime before = OffsetDateTime.now();
+        List<OutboxEvent> batch = outboxService.claimBatch(10);
+
+        assertThat(batch).containsExactly(first, retried);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(retried.getAttempts()).isEqualTo(3);
+        assertThat(batch).allSatisfy(e -> assertThat(e.getLockedUntil()).isAfter(before.plusSeconds(29)));
+    }
+
+    @Test
+    void publishedRowsAreDeleted() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        outboxService.markPublished(ids);
+        outboxService.markPublished(List.of());
+
+        verify(outboxEventRepository).deleteByIds(ids);
+    }
+
+    @Test
+    void failedRowIsRetriedAfterABackoff() {
+        OutboxEvent failed = row(1);
+        failed.setLockedUntil(OffsetDateTime.now().plusSeconds(30));
+        when(outboxEventRepository.findById(failed.getId())).thenReturn(Optional.of(failed));
+
+        OffsetDateTime before = OffsetDateTime.now();
+        outboxService.markFailed(failed.getId(), "broker down");
+
+        assertThat(failed.getLastError()).isEqualTo("broker down");
+        // First retry: 2s +-20%
+        assertThat(failed.getLockedUntil()).isBetween(before.plusNanos(1_500_000_000L), before.plusNanos(2_500_000_000L));
+        verify(deadLetterRepository, never()).save(any());
+        verify(outboxEventRepository, never()).delete(any());
+    }
+
+    @Test
+    void rowOutOfAttemptsMovesToTheDeadLetterTable() {
+        OutboxEvent exhausted = row(3);
+        when(outboxEventRepository.findById(exhausted.getId())).thenReturn(Optional.of(exhausted));
+
+        outboxService.markFailed(exhausted.getId(), "x".repeat(600));
+
+        ArgumentCaptor<OutboxDeadLetter> deadLetter = ArgumentCaptor.forClass(OutboxDeadLetter.class);
+        verify(deadLetterRepository).save(deadLetter.capture());
+        assertThat(deadLetter.getValue().getId()).isEqualTo(exhausted.getId());
+        assertThat(deadLetter.getValue().getPayload()).isEqualTo(exhausted.getPayload());
+        assertThat(deadLetter.getValue().getAttempts()).isEqualTo(3);
+        assertThat(deadLetter.getValue().getLastError()).hasSize(500);
+        verify(outboxEventRepository).delete(exhausted);
+    }
+}
@@ -0,0 +1,56 @@
+package com.bookingservice.bookingservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderScheduleIndexTest {
+
+    private final ProviderScheduleIndex.ProviderSchedule schedule = new ProviderScheduleIndex.ProviderSchedule();
+
+    @Test
+    void findsSessionsThatOverlapTheRequestedRange() {
+        UUID booking = UUID.randomUUID();
+        schedule.add(booking, 100, 200);
+
+        assertThat(schedule.findOverlap(150, 250)).contains(booking);
+        assertThat(schedule.findOverlap(50, 150)).contains(booking);
+        assertThat(schedule.findOverlap(120, 180)).contains(booking);
+        assertThat(schedule.findOverlap(50, 250)).contains(booking);
+    }
+
+    @Test
+    void backToBackSessionsDoNotOverlap() {
+        schedule.add(UUID.randomUUID(), 100, 200);
+
+        assertThat(schedule.findOverlap(200, 300)).isEmpty();
+        assertThat(schedule.findOverlap(0, 100)).isEmpty();
+    }
+
+    @Test
+    void longSessionStartingWellBeforeTheRangeIsStillFound() {
+        UUID longSession = UUID.randomUUID();
+        schedule.add(longSession, 0, 1_000);
+        schedule.add(UUID.randomUUID(), 100, 150);
+
+        assertThat(schedule.findOverlap(900, 950)).contains(longSession);
+    }
+
+    @Test
+    void removedAndMovedSessionsNoLongerBlockTheirOldSlot() {
+        UUID removed = UUID.randomUUID();
+        UUID moved = UUID.randomUUID();
+        schedule.add(removed, 100, 200);
+        schedule.add(moved, 300, 400);
+
+        schedule.remove(removed);
+        schedule.add(moved, 500, 600);
+
+        assertThat(schedule.findOverlap(100, 200)).isEmpty();
+        assertThat(schedule.findOverlap(300, 400)).isEmpty();
+        assertThat(schedule.findOverlap(550, 560)).contains(moved);
+        assertThat(schedule.size()).isEqualTo(1);
+    }
+}
@@ -14,6 +14,8 @@ public class SkillResponse {
     private UUID id;
     private UUID userId;
     private String providerName;
+    private String providerAvatarUrl;
+    private String providerCity;
     private String title;
     private String description;
     private List<String> tags;
@@ -0,0 +1,15 @@
+package com.SkillCatalogService.skillservice.DTO;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder(toBuilder = true)
+public class SkillSearchResult {
+    private List<SkillResponse> results;
+    // tags, level and price buckets for the current query; null unless facets were requested
+    private Map<String, List<FacetBucket>> facets;
+}
@@ -0,0 +1,11 @@
+package com.SkillCatalogService.skillservice.DTO;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SkillSuggestion {
+    private String text;
+    private String type; // TITLE or TAG
+}
@@ -0,0 +1,75 @@
+package com.SkillCatalogService.skillservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the database search fallback whether the Postgres full-text objects are usable:
+ * a weighted {@code search_vector} generated from title and description with a GIN index,
+ * and a trigram GIN index on title for typo-tolerant matches. {@code ddl-auto} cannot
+ * create them and the column rewrites the whole table under an exclusive lock, so they
+ * ship as the {@code db/full-text-search.sql} migration and are never created here.
+ * Until the column exists and both indexes are valid (a failed concurrent build leaves
+ * an invalid one behind) {@link #isAvailable()} stays false and callers keep using the
+ * plain LIKE queries. The check is repeated while unavailable, so applying the migration
+ * takes effect without a restart.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class FullTextSearchSchema {
+
+    private static final String READY_QUERY = """
+            SELECT EXISTS (SELECT 1 FROM information_schema.columns
+                           WHERE table_schema = current_schema()
+                             AND table_name = 'skills' AND column_name = 'search_vector')
+               AND (SELECT count(*) FROM pg_index i
+                    JOIN pg_class c ON c.oid = i.indexrelid
+                    JOIN pg_namespace n ON n.oid = c.relnamespace
+                    WHERE n.nspname = current_schema()
+                      AND c.relname IN ('idx_skills_search_vector', 'idx_skills_title_trgm')
+                      AND i.indisvalid AND i.indisready) = 2
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean available;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkSchema() {
+        if (isReady()) {
+            available = true;
+            log.info("Full-text search fallback enabled");
+        } else {
+            log.warn("Full-text search objects missing or invalid, DB fallback stays on LIKE queries "
+                    + "until db/full-text-search.sql has been applied");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.full-text-search.recheck-interval-ms:300000}",
+            fixedDelayString = "${app.full-text-search.recheck-interval-ms:300000}")
+    public void recheck() {
+        if (!available && isReady()) {
+            available = true;
+            log.info("Full-text search fallback enabled");
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    private boolean isReady() {
+        try {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(READY_QUERY, Boolean.class));
+        } catch (Exception e) {
+            log.warn("Could not check the full-text search objects: {}", e.getMessage());
+            return false;
+        }
+    }
+}
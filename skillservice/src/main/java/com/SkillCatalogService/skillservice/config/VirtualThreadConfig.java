@@ -0,0 +1,17 @@
+package com.SkillCatalogService.skillservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class VirtualThreadConfig {
+
+    // One virtual thread per blocking remote call; cheap enough that no pool sizing is needed
+    @Bean(destroyMethod = "close")
+    public ExecutorService remoteCallExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
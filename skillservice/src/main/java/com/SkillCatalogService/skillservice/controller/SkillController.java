@@ -2,6 +2,8 @@ package com.SkillCatalogService.skillservice.controller;
 
 import com.SkillCatalogService.skillservice.DTO.SkillRequest;
 import com.SkillCatalogService.skillservice.DTO.SkillResponse;
+import com.SkillCatalogService.skillservice.openSearch.SkillReindexJob;
+import com.SkillCatalogService.skillservice.service.SkillIndexQueue;
 import com.SkillCatalogService.skillservice.service.SkillService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,8 @@ import java.util.UUID;
 @Slf4j
 public class SkillController {
     private final SkillService skillService;
+    private final SkillIndexQueue indexQueue;
+    private final SkillReindexJob reindexJob;
 
 
 
@@ -91,4 +95,32 @@ public class SkillController {
         log.info("GET /api/skills/stats - Admin request");
         return ResponseEntity.ok(skillService.getSkillStats());
     }
+
+    @GetMapping("/index/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getIndexStatus() {
+        log.info("GET /api/skills/index/status - Admin request");
+        return ResponseEntity.ok(indexQueue.getStatus());
+    }
+
+    @PostMapping("/index/dead-letters/replay")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> replayIndexDeadLetters() {
+        log.info("POST /api/skills/index/dead-letters/replay - Admin request");
+        return ResponseEntity.ok(Map.of("replayed", indexQueue.replayDeadLetters()));
+    }
+
+    @PostMapping("/index/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> startReindex() {
+        log.info("POST /api/skills/index/reindex - Admin request");
+        HttpStatus status = reindexJob.start() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(reindexJob.getProgress());
+    }
+
+    @GetMapping("/index/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getReindexProgress() {
+        return ResponseEntity.ok(reindexJob.getProgress());
+    }
 }
@@ -1,10 +1,15 @@
 package com.SkillCatalogService.skillservice.controller;
 
 import com.SkillCatalogService.skillservice.DTO.SkillResponse;
+import com.SkillCatalogService.skillservice.DTO.SkillSearchResult;
+import com.SkillCatalogService.skillservice.DTO.SkillSuggestion;
+import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.InvalidSearchParametersException;
 import com.SkillCatalogService.skillservice.service.SkillSearchService;
 import com.SkillCatalogService.skillservice.service.SkillService;
+import com.SkillCatalogService.skillservice.service.SkillSuggestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,6 +26,10 @@ public class SkillSearchController {
 
     private final SkillSearchService searchService;
     private final SkillService skillService;
+    private final SkillSuggestService suggestService;
+
+    @Value("${app.batch.max-ids:500}")
+    private int maxBatchSize;
 
     // ==================== PUBLIC ENDPOINTS ====================
 
@@ -33,19 +42,46 @@ public class SkillSearchController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
-        List<SkillResponse> results = searchService.search(q, tags, level, minPrice, maxPrice, page, size, sort,
-                direction);
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "false") boolean facets) {
+        SkillSearchResult result = searchService.search(q, tags, level, minPrice, maxPrice, page, size, sort,
+                direction, facets);
 
         Map<String, Object> response = new HashMap<>();
-        response.put("results", results);
-        response.put("count", results.size());
+        response.put("results", result.getResults());
+        response.put("count", result.getResults().size());
         response.put("page", page);
         response.put("size", size);
+        if (facets) {
+            response.put("facets", result.getFacets());
+        }
 
         return ResponseEntity.ok(response);
     }
 
+    // Cursor-paginated variant for infinite scroll and crawlers; pass back nextCursor with the
+    // same filters to get the following page
+    @GetMapping("/skillSearch/scroll")
+    public ResponseEntity<Map<String, Object>> searchScroll(@RequestParam(required = false) String q,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(searchService.searchPage(q, tags, level, minPrice, maxPrice, size, sort,
+                direction, cursor));
+    }
+
+    // Typeahead for titles and tags; cheap enough to call on every keystroke
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SkillSuggestion>> suggest(@RequestParam String prefix,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(suggestService.suggest(prefix, limit));
+    }
+
     @GetMapping("/getAllSkills")
     public ResponseEntity<List<SkillResponse>> getAllSkills(
             @RequestParam(required = false) String search,
@@ -60,12 +96,29 @@ public class SkillSearchController {
         return ResponseEntity.ok(skillService.getSkillById(id));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<SkillResponse>> getSkillsByIds(@RequestBody List<UUID> ids) {
+        log.info("POST /api/search/batch - {} ids", ids != null ? ids.size() : 0);
+        if (ids != null && ids.size() > maxBatchSize) {
+            throw new InvalidSearchParametersException("At most " + maxBatchSize + " ids per batch", null);
+        }
+        return ResponseEntity.ok(skillService.getSkillsByIds(ids));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<SkillResponse>> getSkillsByUserId(@PathVariable UUID userId) {
         log.info("GET /api/search/user/{}", userId);
         return ResponseEntity.ok(skillService.getSkillsByUserId(userId));
     }
 
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<Map<String, Object>> getSkillsByUserIdScroll(@PathVariable UUID userId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /api/search/user/{}/scroll", userId);
+        return ResponseEntity.ok(searchService.getSkillsByUserIdPage(userId, size, cursor));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<SkillResponse>> searchSkills(@RequestParam String query) {
         log.info("GET /api/search/search?query={}", query);
@@ -0,0 +1,11 @@
+package com.SkillCatalogService.skillservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when skills are added to the index queue; delivered after the enqueuing transaction commits
+@Getter
+@AllArgsConstructor
+public class SkillIndexQueuedEvent {
+    private final int count;
+}
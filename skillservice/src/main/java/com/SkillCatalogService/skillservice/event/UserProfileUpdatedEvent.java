@@ -0,0 +1,18 @@
+package com.SkillCatalogService.skillservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserProfileUpdatedEvent {
+    private UUID userId;
+    private String displayName;
+    private String avatarUrl;
+    private String city;
+    private long timestamp;
+}
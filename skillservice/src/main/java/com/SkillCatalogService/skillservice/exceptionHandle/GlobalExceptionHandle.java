@@ -2,6 +2,7 @@ package com.SkillCatalogService.skillservice.exceptionHandle;
 
 import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.*;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.ResourceNotFoundException;
 import org.slf4j.Logger;
@@ -58,6 +59,17 @@ public class GlobalExceptionHandle {
 
 
 
+    // Circuit breaker open: search is unavailable for now, not broken
+    @ExceptionHandler(CallNotPermittedException.class)
+    public ResponseEntity<Map<String, String>> handleSearchCircuitOpen(CallNotPermittedException ex) {
+        logger.warn("Search rejected, circuit breaker open: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of(
+                        "error", "Search unavailable",
+                        "message", "Search is temporarily unavailable. Please try again later."
+                ));
+    }
+
     @ExceptionHandler(SearchServiceException.class)
     public ResponseEntity<Map<String, String>> handleSearchServiceException(SearchServiceException ex) {
         logger.error("Search service error: {}", ex.getMessage());
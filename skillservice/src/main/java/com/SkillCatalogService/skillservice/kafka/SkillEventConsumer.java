@@ -0,0 +1,25 @@
+package com.SkillCatalogService.skillservice.kafka;
+
+import com.SkillCatalogService.skillservice.service.SkillSuggestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SkillEventConsumer {
+
+    private final SkillSuggestService suggestService;
+
+    // Every instance keeps its own suggest trie, so each one needs its own consumer group
+    // to see all skill events; it only cares about changes from now on
+    @KafkaListener(topics = "${kafka.topic.skill-events:skill-events}",
+            groupId = "skill-suggest-#{T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest")
+    public void handleSkillEvent(String message) {
+        log.debug("Skill event received, suggest trie marked for rebuild");
+        suggestService.markStale();
+    }
+}
@@ -1,7 +1,10 @@
 package com.SkillCatalogService.skillservice.kafka;
 
 import com.SkillCatalogService.skillservice.event.UserDeletedEvent;
+import com.SkillCatalogService.skillservice.event.UserProfileUpdatedEvent;
 import com.SkillCatalogService.skillservice.repository.SkillRepository;
+import com.SkillCatalogService.skillservice.service.ProviderProfileService;
+import com.SkillCatalogService.skillservice.service.SkillIndexQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -14,16 +17,30 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserEventConsumer {
 
     private final SkillRepository skillRepository;
+    private final SkillIndexQueue indexQueue;
+    private final ProviderProfileService providerProfileService;
 
     @KafkaListener(topics = "${kafka.topic.user-deleted:user-deleted}", groupId = "skill-service-group")
     @Transactional
     public void handleUserDeleted(UserDeletedEvent event) {
         log.info("Received UserDeletedEvent for userId: {}", event.getUserId());
         try {
+            indexQueue.enqueueAll(skillRepository.findIdsByUserId(event.getUserId()));
             skillRepository.deleteByUserId(event.getUserId());
             log.info("Deleted skills for userId: {}", event.getUserId());
         } catch (Exception e) {
             log.error("Failed to delete skills for userId: {}", event.getUserId(), e);
         }
     }
+
+    @KafkaListener(topics = "${kafka.topic.user-profile-updated:user-profile-updated}", groupId = "skill-service-group")
+    public void handleProfileUpdated(UserProfileUpdatedEvent event) {
+        log.info("Received UserProfileUpdatedEvent for userId: {}", event.getUserId());
+        try {
+            providerProfileService.apply(event.getUserId(), event.getDisplayName(),
+                    event.getAvatarUrl(), event.getCity());
+        } catch (Exception e) {
+            log.error("Failed to refresh provider profile for userId: {}", event.getUserId(), e);
+        }
+    }
 }
@@ -17,7 +17,9 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "skills")
+@Table(name = "skills", indexes = {
+        @Index(name = "idx_skills_updated_at_id", columnList = "updated_at, id")
+})
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Skill {
 
@@ -49,6 +51,20 @@ public class Skill {
     @Enumerated(EnumType.STRING)
     private SkillStatus status;
 
+    // Copied from the provider's profile so reads and search never call the user service;
+    // kept fresh by profile-updated events
+    private String providerName;
+
+    private String providerAvatarUrl;
+
+    private String providerCity;
+
+    // Bumped on every write; copied into the search document so drift between
+    // Postgres and OpenSearch can be detected by comparing the two
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
     private Instant createdAt;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
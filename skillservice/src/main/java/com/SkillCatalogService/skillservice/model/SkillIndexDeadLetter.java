@@ -0,0 +1,39 @@
+package com.SkillCatalogService.skillservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Index task that ran out of retries. Kept until an admin replays it, so a
+ * failed document is never silently dropped.
+ */
+@Entity
+@Table(name = "skill_index_dead_letters", indexes = {
+        @Index(name = "idx_index_dead_letters_skill", columnList = "skill_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SkillIndexDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "skill_id", nullable = false)
+    private UUID skillId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "failed_at", nullable = false)
+    private Instant failedAt;
+}
@@ -0,0 +1,47 @@
+package com.SkillCatalogService.skillservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A skill whose search document has to be brought in line with Postgres. There is
+ * at most one row per skill: repeated changes bump {@code revision} instead of
+ * adding rows, and the worker decides between index and delete by reading the
+ * skill when it drains the row.
+ */
+@Entity
+@Table(name = "skill_index_queue", indexes = {
+        @Index(name = "idx_index_queue_next_attempt", columnList = "next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SkillIndexTask {
+
+    @Id
+    @Column(name = "skill_id", nullable = false)
+    private UUID skillId;
+
+    @Column(name = "revision", nullable = false)
+    private long revision;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private Instant enqueuedAt;
+}
@@ -0,0 +1,88 @@
+package com.SkillCatalogService.skillservice.openSearch;
+
+import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.InvalidSearchParametersException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Circuit breaker guarding every OpenSearch query. It opens on either a high failure rate
+ * or a high share of slow calls, so an outage costs a handful of timeouts instead of one
+ * per request; while open, callers go straight to their DB fallback. Leaving the open
+ * state is driven by {@link OpenSearchHealthMonitor}, with {@code wait-in-open} as the
+ * backstop. State, call and rate gauges are published as {@code resilience4j.circuitbreaker.*}
+ * and every transition is counted in {@code skills.search.breaker.transitions}.
+ */
+@Configuration
+@Slf4j
+public class OpenSearchCircuitBreakerConfig {
+
+    public static final String NAME = "openSearch";
+
+    @Bean
+    public CircuitBreaker openSearchCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${app.search-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${app.search-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+            @Value("${app.search-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${app.search-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${app.search-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${app.search-breaker.wait-in-open:30s}") Duration waitInOpen,
+            @Value("${app.search-breaker.half-open-calls:3}") int halfOpenCalls) {
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpen)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                // Only transport errors, timeouts and 5xx say something about the cluster's health;
+                // a rejected query (bad sort field, unmapped field, expired cursor) does not
+                .recordException(OpenSearchCircuitBreakerConfig::isClusterFailure)
+                .ignoreExceptions(InvalidSearchParametersException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker breaker = registry.circuitBreaker(NAME);
+        breaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            meterRegistry.counter("skills.search.breaker.transitions",
+                    "from", transition.getFromState().name(),
+                    "to", transition.getToState().name()).increment();
+            log.warn("OpenSearch circuit breaker {}", transition);
+        });
+        return breaker;
+    }
+
+    // The service wraps client errors in its own exceptions, so the original cause is looked up
+    static boolean isClusterFailure(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof OpenSearchException e) {
+                return e.status() >= 500;
+            }
+            if (t instanceof IOException || t instanceof TimeoutException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+}
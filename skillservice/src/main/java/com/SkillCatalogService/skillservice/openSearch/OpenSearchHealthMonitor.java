@@ -0,0 +1,44 @@
+package com.SkillCatalogService.skillservice.openSearch;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pings the cluster in the background so the circuit breaker follows its health without
+ * waiting on user traffic: a failed ping while closed opens the breaker straight away,
+ * and a successful ping while open moves it to half-open, where a few real queries decide
+ * whether it closes again.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OpenSearchHealthMonitor {
+
+    private final OpenSearchClient client;
+    private final CircuitBreaker openSearchCircuitBreaker;
+
+    @Scheduled(fixedDelayString = "${app.search-breaker.health-check-interval-ms:5000}")
+    public void check() {
+        boolean healthy = ping();
+        CircuitBreaker.State state = openSearchCircuitBreaker.getState();
+
+        if (!healthy && state == CircuitBreaker.State.CLOSED) {
+            openSearchCircuitBreaker.transitionToOpenState();
+        } else if (healthy && state == CircuitBreaker.State.OPEN) {
+            openSearchCircuitBreaker.transitionToHalfOpenState();
+        }
+    }
+
+    private boolean ping() {
+        try {
+            return client.ping().value();
+        } catch (Exception e) {
+            log.debug("OpenSearch ping failed: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.SkillCatalogService.skillservice.openSearch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch._types.OpenSearchException;
+import org.opensearch.client.opensearch._types.mapping.TypeMapping;
+import org.opensearch.client.opensearch.indices.update_aliases.Action;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Owns the physical layout of the skills index. {@code opensearch.index} is an
+ * alias that readers and the index worker use; the documents live in versioned
+ * indices ({@code <alias>_v<timestamp>}) behind it, so a rebuild can load a new
+ * index and swap the alias in one atomic step.
+ * <p>
+ * While a rebuild runs, the new index also carries the {@code <alias>_rebuild}
+ * alias. Writers check for it (cached for {@code app.search-index.rebuild-alias-ttl})
+ * and send every change to both indices.
+ */
+@Component
+@Slf4j
+public class SkillIndexManager {
+
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final OpenSearchClient client;
+    private final String alias;
+    private final String rebuildAlias;
+    private final Duration rebuildAliasTtl;
+
+    private volatile boolean rebuilding;
+    private volatile long rebuildCheckedAt;
+
+    public SkillIndexManager(OpenSearchClient client,
+                             @Value("${opensearch.index}") String alias,
+                             @Value("${app.search-index.rebuild-alias-ttl:5s}") Duration rebuildAliasTtl) {
+        this.client = client;
+        this.alias = alias;
+        this.rebuildAlias = alias + "_rebuild";
+        this.rebuildAliasTtl = rebuildAliasTtl;
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    public Duration getRebuildAliasTtl() {
+        return rebuildAliasTtl;
+    }
+
+    // First start on an empty cluster: create the first versioned index behind the alias.
+    // A legacy concrete index named like the alias is left alone until a reindex replaces it.
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndex() {
+        try {
+            if (client.indices().exists(e -> e.index(alias)).value()) {
+                if (concreteIndices().isEmpty()) {
+                    log.warn("'{}' is a concrete index; run a reindex to move it behind an alias", alias);
+                }
+                return;
+            }
+            String index = createIndex(false);
+            client.indices().updateAliases(u -> u.actions(a -> a.add(add -> add.index(index).alias(alias))));
+            log.info("Created skills index {} behind alias {}", index, alias);
+        } catch (IOException | OpenSearchException e) {
+            log.warn("Could not verify skills index on startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a new versioned index with the current mapping. A rebuild target is
+     * created with refresh disabled and with the rebuild alias already attached.
+     */
+    public String createIndex(boolean forRebuild) throws IOException {
+        String index = alias + "_v" + ZonedDateTime.now(ZoneOffset.UTC).format(VERSION_FORMAT);
+        client.indices().create(c -> {
+            c.index(index)
+                    .mappings(mapping())
+                    .settings(s -> s.refreshInterval(t -> t.time(forRebuild ? "-1" : "1s")));
+            if (forRebuild) {
+                c.aliases(rebuildAlias, a -> a);
+            }
+            return c;
+        });
+        return index;
+    }
+
+    /**
+     * Indices the alias currently points to. Empty when the alias does not exist,
+     * including when {@code opensearch.index} is still a legacy concrete index.
+     */
+    public Set<String> concreteIndices() throws IOException {
+        try {
+            return new HashSet<>(client.indices().getAlias(g -> g.name(alias)).result().keySet());
+        } catch (OpenSearchException e) {
+            if (e.status() == 404) {
+                return Collections.emptySet();
+            }
+            throw e;
+        }
+    }
+
+    public boolean isLegacyConcreteIndex() throws IOException {
+        return concreteIndices().isEmpty() && client.indices().exists(e -> e.index(alias)).value();
+    }
+
+    /**
+     * Atomically points the alias at {@code newIndex} and drops the rebuild alias.
+     * A legacy concrete index with the alias's name is deleted in the same request,
+     * which is the only way to free the name for the alias.
+     */
+    public void swap(String newIndex, Set<String> previous, boolean legacyConcrete) throws IOException {
+        List<Action> actions = new ArrayList<>();
+        if (legacyConcrete) {
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(alias))));
+        }
+        for (String old : previous) {
+            actions.add(Action.of(a -> a.remove(r -> r.index(old).alias(alias))));
+        }
+        actions.add(Action.of(a -> a.remove(r -> r.index(newIndex).alias(rebuildAlias))));
+        actions.add(Action.of(a -> a.add(add -> add.index(newIndex).alias(alias))));
+        client.indices().updateAliases(u -> u.actions(actions));
+        rebuildCheckedAt = 0;
+    }
+
+    // Restores normal refresh after a bulk load and makes every document searchable
+    public void finishLoad(String index) throws IOException {
+        client.indices().putSettings(p -> p.index(index).settings(s -> s.refreshInterval(t -> t.time("1s"))));
+        client.indices().refresh(r -> r.index(index));
+    }
+
+    public long count(String index) throws IOException {
+        return client.count(c -> c.index(index)).count();
+    }
+
+    public void delete(String index) throws IOException {
+        client.indices().delete(d -> d.index(index));
+    }
+
+    // Versioned indices that are no longer behind the alias, oldest first
+    public List<String> detachedIndices() throws IOException {
+        Set<String> live = concreteIndices();
+        return client.indices().get(g -> g.index(alias + "_v*")).result().keySet().stream()
+                .filter(index -> !live.contains(index))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * The rebuild alias if a rebuild is in progress, for writers to copy changes into.
+     * Looked up at most once per {@code app.search-index.rebuild-alias-ttl}.
+     */
+    public Optional<String> rebuildTarget() {
+        long now = System.currentTimeMillis();
+        if (now - rebuildCheckedAt > rebuildAliasTtl.toMillis()) {
+            try {
+                rebuilding = client.indices().existsAlias(e -> e.name(rebuildAlias)).value();
+                rebuildCheckedAt = now;
+            } catch (IOException | OpenSearchException e) {
+                log.debug("Could not check for rebuild alias: {}", e.getMessage());
+            }
+        }
+        return rebuilding ? Optional.of(rebuildAlias) : Optional.empty();
+    }
+
+    // Abandons a failed rebuild; the live alias was never touched
+    public void discard(String index) {
+        try {
+            delete(index);
+        } catch (IOException | OpenSearchException e) {
+            log.warn("Could not delete abandoned index {}: {}", index, e.getMessage());
+        }
+        rebuildCheckedAt = 0;
+    }
+
+    private TypeMapping mapping() {
+        return TypeMapping.of(m -> m
+                .properties("id", p -> p.keyword(k -> k))
+                .properties("userId", p -> p.keyword(k -> k))
+                .properties("title", p -> p.text(t -> t
+                        .fields("keyword", f -> f.keyword(k -> k.ignoreAbove(256)))
+                        .fields("suggest", f -> f.searchAsYouType(sy -> sy))))
+                .properties("description", p -> p.text(t -> t))
+                .properties("tags", p -> p.text(t -> t
+                        .fields("keyword", f -> f.keyword(k -> k.ignoreAbove(256)))
+                        .fields("suggest", f -> f.searchAsYouType(sy -> sy))))
+                .properties("level", p -> p.text(t -> t
+                        .fields("keyword", f -> f.keyword(k -> k.ignoreAbove(256)))))
+                .properties("pricePerHour", p -> p.double_(d -> d))
+                .properties("status", p -> p.keyword(k -> k))
+                .properties("providerName", p -> p.text(t -> t
+                        .fields("keyword", f -> f.keyword(k -> k.ignoreAbove(256)))))
+                .properties("providerAvatarUrl", p -> p.keyword(k -> k.index(false)))
+                .properties("providerCity", p -> p.keyword(k -> k))
+                .properties("version", p -> p.long_(l -> l))
+                .properties("createdAt", p -> p.date(d -> d))
+                .properties("updatedAt", p -> p.date(d -> d)));
+    }
+}
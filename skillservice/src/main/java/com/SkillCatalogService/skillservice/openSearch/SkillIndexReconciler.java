@@ -0,0 +1,138 @@
+package com.SkillCatalogService.skillservice.openSearch;
+
+import com.SkillCatalogService.skillservice.repository.SkillRepository;
+import com.SkillCatalogService.skillservice.repository.SkillRepository.SkillVersionView;
+import com.SkillCatalogService.skillservice.service.SkillIndexQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Detects and repairs drift between Postgres and the skills index. Skills changed
+ * since the last completed pass (the watermark) are read in keyset pages, their
+ * row version is compared with the version in the search document, and any
+ * mismatch or missing document is put back on the index queue.
+ * <p>
+ * The watermark lives in memory, so every instance makes one full pass after it
+ * starts; that also covers documents indexed before versions were stored.
+ * <p>
+ * That pass starts from rows, so it cannot see a document whose skill row is gone,
+ * e.g. when the delete task was lost or dead-lettered. A separate, less frequent
+ * sweep walks the document ids in the index and queues the ones with no row in
+ * {@code skills}; the worker deletes a document whose skill no longer exists.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SkillIndexReconciler {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final SkillRepository skillRepository;
+    private final SkillSearchIndexer indexer;
+    private final SkillIndexQueue queue;
+
+    @Value("${app.search-index.reconcile-page-size:500}")
+    private int pageSize;
+
+    // Re-checks a margin before the watermark to cover commit lag and clock skew between instances
+    @Value("${app.search-index.reconcile-overlap:5m}")
+    private Duration overlap;
+
+    @Value("${app.search-index.orphan-scan-page-size:1000}")
+    private int orphanScanPageSize;
+
+    private volatile Instant watermark = Instant.EPOCH;
+
+    @Scheduled(initialDelayString = "${app.search-index.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${app.search-index.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        Instant startedAt = Instant.now();
+        Instant afterUpdatedAt = watermark.minus(overlap);
+        UUID afterId = MIN_UUID;
+        int checked = 0;
+        int repaired = 0;
+
+        try {
+            List<SkillVersionView> page;
+            do {
+                page = skillRepository.findVersionsUpdatedAfter(afterUpdatedAt, afterId, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                Map<UUID, Long> indexed = indexer.fetchVersions(page.stream().map(SkillVersionView::getId).toList());
+                List<UUID> stale = page.stream()
+                        .filter(row -> !Objects.equals(indexed.get(row.getId()), row.getVersion()))
+                        .map(SkillVersionView::getId)
+                        .toList();
+                queue.enqueueAll(stale);
+
+                checked += page.size();
+                repaired += stale.size();
+                SkillVersionView last = page.get(page.size() - 1);
+                afterUpdatedAt = last.getUpdatedAt();
+                afterId = last.getId();
+            } while (page.size() == pageSize);
+        } catch (IOException e) {
+            // Leave the watermark where it was; the next pass starts over from it
+            log.warn("Index reconciliation stopped after {} skills, OpenSearch unavailable: {}", checked, e.getMessage());
+            return;
+        }
+
+        watermark = startedAt;
+        if (repaired > 0) {
+            log.warn("Index reconciliation re-queued {} of {} skills that had drifted", repaired, checked);
+        } else {
+            log.debug("Index reconciliation checked {} skills, no drift", checked);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.search-index.orphan-scan-initial-delay-ms:300000}",
+            fixedDelayString = "${app.search-index.orphan-scan-interval-ms:21600000}")
+    public void sweepOrphans() {
+        UUID afterId = null;
+        int scanned = 0;
+        int orphaned = 0;
+
+        try {
+            List<UUID> page;
+            do {
+                page = indexer.scanDocumentIds(afterId, orphanScanPageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                Set<UUID> existing = new HashSet<>(skillRepository.findExistingIds(page));
+                List<UUID> orphans = page.stream().filter(id -> !existing.contains(id)).toList();
+                queue.enqueueAll(orphans);
+
+                scanned += page.size();
+                orphaned += orphans.size();
+                afterId = page.get(page.size() - 1);
+            } while (page.size() == orphanScanPageSize);
+        } catch (IOException e) {
+            log.warn("Orphaned document sweep stopped after {} documents, OpenSearch unavailable: {}",
+                    scanned, e.getMessage());
+            return;
+        }
+
+        if (orphaned > 0) {
+            log.warn("Orphaned document sweep queued {} of {} documents for deletion", orphaned, scanned);
+        } else {
+            log.debug("Orphaned document sweep checked {} documents, none orphaned", scanned);
+        }
+    }
+}
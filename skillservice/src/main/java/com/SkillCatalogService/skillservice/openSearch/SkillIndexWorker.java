@@ -0,0 +1,141 @@
+package com.SkillCatalogService.skillservice.openSearch;
+
+import com.SkillCatalogService.skillservice.event.SkillIndexQueuedEvent;
+import com.SkillCatalogService.skillservice.model.Skill;
+import com.SkillCatalogService.skillservice.model.SkillIndexTask;
+import com.SkillCatalogService.skillservice.repository.SkillRepository;
+import com.SkillCatalogService.skillservice.service.SkillIndexQueue;
+import com.SkillCatalogService.skillservice.service.SkillSearchCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the index queue into {@code _bulk} requests. A flush happens every
+ * {@code app.search-index.flush-interval-ms}, or straight away once a full batch
+ * has been enqueued. Each skill is read from Postgres at flush time, so the
+ * document always reflects the latest committed state; a skill that no longer
+ * exists is deleted from the index.
+ */
+@Component
+@Slf4j
+public class SkillIndexWorker {
+
+    private final SkillIndexQueue queue;
+    private final SkillRepository skillRepository;
+    private final SkillSearchIndexer indexer;
+    private final SkillSearchCache searchCache;
+    private final int batchSize;
+
+    private final ReentrantLock draining = new ReentrantLock();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService sizeTrigger = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "skill-index-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SkillIndexWorker(SkillIndexQueue queue,
+                            SkillRepository skillRepository,
+                            SkillSearchIndexer indexer,
+                            SkillSearchCache searchCache,
+                            @Value("${app.search-index.batch-size:500}") int batchSize) {
+        this.queue = queue;
+        this.skillRepository = skillRepository;
+        this.indexer = indexer;
+        this.searchCache = searchCache;
+        this.batchSize = batchSize;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onQueued(SkillIndexQueuedEvent event) {
+        if (pending.addAndGet(event.getCount()) >= batchSize) {
+            sizeTrigger.execute(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search-index.flush-interval-ms:1000}")
+    public void flush() {
+        drain();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sizeTrigger.shutdownNow();
+    }
+
+    private void drain() {
+        if (!draining.tryLock()) {
+            return; // the running drain keeps going while batches come back full
+        }
+        try {
+            List<SkillIndexTask> batch;
+            boolean reachable = true;
+            do {
+                pending.set(0);
+                batch = queue.claimBatch(batchSize);
+                if (!batch.isEmpty()) {
+                    reachable = process(batch);
+                }
+            } while (reachable && batch.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Skill index drain failed: {}", e.getMessage(), e);
+        } finally {
+            draining.unlock();
+        }
+    }
+
+    // Returns false when the bulk request itself failed, so the drain backs off instead of
+    // pushing the rest of the queue at an unavailable cluster
+    private boolean process(List<SkillIndexTask> batch) {
+        Map<UUID, SkillIndexTask> tasks = batch.stream()
+                .collect(Collectors.toMap(SkillIndexTask::getSkillId, Function.identity()));
+
+        List<Skill> upserts = skillRepository.findAllById(tasks.keySet());
+        Set<UUID> deletes = new HashSet<>(tasks.keySet());
+        upserts.forEach(s -> deletes.remove(s.getId()));
+
+        Map<UUID, String> errors;
+        boolean reachable = true;
+        try {
+            errors = indexer.bulk(upserts, deletes);
+        } catch (Exception e) {
+            reachable = false;
+            log.warn("Bulk index of {} skills failed, will retry: {}", batch.size(), e.getMessage());
+            errors = tasks.keySet().stream()
+                    .collect(Collectors.toMap(Function.identity(), id -> String.valueOf(e.getMessage())));
+        }
+
+        List<SkillIndexTask> done = new ArrayList<>();
+        Map<SkillIndexTask, String> failed = new HashMap<>();
+        for (SkillIndexTask task : batch) {
+            String error = errors.get(task.getSkillId());
+            if (error == null) {
+                done.add(task);
+            } else {
+                failed.put(task, error);
+            }
+        }
+
+        queue.complete(done);
+        queue.fail(failed);
+        if (!done.isEmpty()) {
+            // Results cached between the write and this flush may predate it
+            searchCache.invalidate();
+        }
+        log.debug("Indexed {} skills, deleted {}, {} failed", upserts.size(), deletes.size(), failed.size());
+        return reachable;
+    }
+}
@@ -0,0 +1,273 @@
+package com.SkillCatalogService.skillservice.openSearch;
+
+import com.SkillCatalogService.skillservice.model.Skill;
+import com.SkillCatalogService.skillservice.repository.SkillRepository;
+import com.SkillCatalogService.skillservice.repository.SkillRepository.SkillVersionView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds the skills index without a search outage:
+ * <ol>
+ *   <li>create a new versioned index carrying the rebuild alias, so the index worker
+ *       starts copying every change into it;</li>
+ *   <li>stream {@code skills} in keyset pages and bulk-load them;</li>
+ *   <li>re-load skills changed while the copy ran;</li>
+ *   <li>refresh and compare document and row counts;</li>
+ *   <li>atomically move the read alias to the new index.</li>
+ * </ol>
+ * Any failure before the swap discards the new index and leaves search untouched.
+ * Progress is exposed through {@link #getProgress()} and {@code skills.reindex.*} metrics.
+ */
+@Component
+@Slf4j
+public class SkillReindexJob {
+
+    public enum State { IDLE, RUNNING, SUCCEEDED, FAILED }
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final int LOAD_ATTEMPTS = 3;
+
+    private final SkillRepository skillRepository;
+    private final SkillSearchIndexer indexer;
+    private final SkillIndexManager indexManager;
+    private final int pageSize;
+    private final long countTolerance;
+    private final int retainDetached;
+    private final Duration overlap;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "skill-reindex");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final Counter documents;
+    private final Timer duration;
+
+    private volatile State state = State.IDLE;
+    private volatile String phase;
+    private volatile String targetIndex;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public SkillReindexJob(SkillRepository skillRepository,
+                           SkillSearchIndexer indexer,
+                           SkillIndexManager indexManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.search-index.reindex.page-size:1000}") int pageSize,
+                           @Value("${app.search-index.reindex.count-tolerance:0}") long countTolerance,
+                           @Value("${app.search-index.reindex.retain-previous:1}") int retainDetached,
+                           @Value("${app.search-index.reconcile-overlap:5m}") Duration overlap) {
+        this.skillRepository = skillRepository;
+        this.indexer = indexer;
+        this.indexManager = indexManager;
+        this.pageSize = pageSize;
+        this.countTolerance = countTolerance;
+        this.retainDetached = retainDetached;
+        this.overlap = overlap;
+
+        Gauge.builder("skills.reindex.running", running, r -> r.get() ? 1 : 0)
+                .description("1 while a skills index rebuild is in progress")
+                .register(meterRegistry);
+        Gauge.builder("skills.reindex.documents.indexed", indexed, AtomicLong::get)
+                .description("Documents loaded into the rebuild target so far")
+                .register(meterRegistry);
+        Gauge.builder("skills.reindex.documents.total", total, AtomicLong::get)
+                .description("Skills to load in the current rebuild")
+                .register(meterRegistry);
+        this.documents = Counter.builder("skills.reindex.documents")
+                .description("Documents bulk-loaded by index rebuilds; its rate is the rebuild throughput")
+                .register(meterRegistry);
+        this.duration = Timer.builder("skills.reindex.duration")
+                .description("Wall time of index rebuilds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a rebuild in the background.
+     *
+     * @return false if one is already running in this instance
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        indexed.set(0);
+        total.set(0);
+        state = State.RUNNING;
+        phase = "starting";
+        targetIndex = null;
+        startedAt = Instant.now();
+        finishedAt = null;
+        error = null;
+        executor.execute(this::run);
+        return true;
+    }
+
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        long done = indexed.get();
+        long all = total.get();
+        progress.put("state", state);
+        progress.put("phase", phase);
+        progress.put("targetIndex", targetIndex);
+        progress.put("indexed", done);
+        progress.put("total", all);
+        progress.put("percent", all > 0 ? Math.min(100.0, done * 100.0 / all) : 0.0);
+        progress.put("startedAt", startedAt);
+        progress.put("finishedAt", finishedAt);
+        if (startedAt != null) {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            double seconds = Math.max(Duration.between(startedAt, end).toMillis(), 1) / 1000.0;
+            progress.put("docsPerSecond", Math.round(done / seconds));
+        }
+        progress.put("error", error);
+        return progress;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        Timer.Sample sample = Timer.start();
+        String target = null;
+        try {
+            phase = "preparing";
+            boolean legacyConcrete = indexManager.isLegacyConcreteIndex();
+            Set<String> previous = indexManager.concreteIndices();
+            target = indexManager.createIndex(true);
+            targetIndex = target;
+            log.info("Rebuilding skills index into {} (replacing {})", target,
+                    legacyConcrete ? indexManager.getAlias() : previous);
+
+            // Every instance re-checks the rebuild alias at least once per TTL; waiting two
+            // TTLs means any write committed after this point is copied into the new index
+            Thread.sleep(indexManager.getRebuildAliasTtl().toMillis() * 2);
+
+            phase = "copying";
+            Instant copyStartedAt = Instant.now();
+            total.set(skillRepository.count());
+            UUID afterId = MIN_UUID;
+            List<Skill> page;
+            do {
+                page = skillRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                load(target, page);
+                afterId = page.get(page.size() - 1).getId();
+            } while (page.size() == pageSize);
+
+            // A page read before a concurrent update can overwrite the copy the worker made
+            phase = "catching up";
+            catchUp(target, copyStartedAt.minus(overlap));
+
+            phase = "verifying";
+            indexManager.finishLoad(target);
+            verify(target);
+
+            phase = "swapping";
+            indexManager.swap(target, previous, legacyConcrete);
+            log.info("Skills alias {} now points to {}", indexManager.getAlias(), target);
+            dropOldIndices();
+
+            phase = "done";
+            state = State.SUCCEEDED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(target, e);
+        } catch (Exception e) {
+            fail(target, e);
+        } finally {
+            sample.stop(duration);
+            finishedAt = Instant.now();
+            running.set(false);
+        }
+    }
+
+    private void load(String target, List<Skill> skills) throws IOException, InterruptedException {
+        Map<UUID, String> errors = indexer.bulkInto(target, skills);
+        for (int attempt = 1; attempt < LOAD_ATTEMPTS && !errors.isEmpty(); attempt++) {
+            Thread.sleep(1000L * attempt);
+            Set<UUID> failedIds = errors.keySet();
+            errors = indexer.bulkInto(target, skills.stream().filter(s -> failedIds.contains(s.getId())).toList());
+        }
+        if (!errors.isEmpty()) {
+            Map.Entry<UUID, String> first = errors.entrySet().iterator().next();
+            throw new IllegalStateException(errors.size() + " skills could not be indexed, e.g. "
+                    + first.getKey() + ": " + first.getValue());
+        }
+        indexed.addAndGet(skills.size());
+        documents.increment(skills.size());
+    }
+
+    private void catchUp(String target, Instant since) throws IOException, InterruptedException {
+        Instant afterUpdatedAt = since;
+        UUID afterId = MIN_UUID;
+        List<SkillVersionView> page;
+        do {
+            page = skillRepository.findVersionsUpdatedAfter(afterUpdatedAt, afterId, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            load(target, skillRepository.findAllById(page.stream().map(SkillVersionView::getId).toList()));
+            SkillVersionView last = page.get(page.size() - 1);
+            afterUpdatedAt = last.getUpdatedAt();
+            afterId = last.getId();
+        } while (page.size() == pageSize);
+    }
+
+    private void verify(String target) throws IOException {
+        long rows = skillRepository.count();
+        long docs = indexManager.count(target);
+        if (Math.abs(rows - docs) > countTolerance) {
+            throw new IllegalStateException("Count mismatch: " + rows + " skills in Postgres, "
+                    + docs + " documents in " + target);
+        }
+        log.info("Verified {}: {} documents for {} skills", target, docs, rows);
+    }
+
+    // Keeps the most recent detached indices for rollback and deletes the rest
+    private void dropOldIndices() {
+        try {
+            List<String> detached = indexManager.detachedIndices();
+            for (int i = 0; i < detached.size() - retainDetached; i++) {
+                indexManager.delete(detached.get(i));
+                log.info("Deleted old skills index {}", detached.get(i));
+            }
+        } catch (Exception e) {
+            log.warn("Could not clean up old skills indices: {}", e.getMessage());
+        }
+    }
+
+    private void fail(String target, Exception e) {
+        log.error("Skills index rebuild failed during {}: {}", phase, e.getMessage(), e);
+        error = e.getMessage();
+        state = State.FAILED;
+        if (target != null) {
+            indexManager.discard(target);
+        }
+    }
+}
@@ -1,55 +1,139 @@
 package com.SkillCatalogService.skillservice.openSearch;
 
-import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.SkillDeletionException;
-import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.SkillNotFoundException;
 import com.SkillCatalogService.skillservice.model.Skill;
 import lombok.RequiredArgsConstructor;
 import org.opensearch.client.opensearch.OpenSearchClient;
-import org.opensearch.client.opensearch._types.Refresh;
-import org.opensearch.client.opensearch.core.DeleteRequest;
-import org.opensearch.client.opensearch.core.DeleteResponse;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.MgetResponse;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.bulk.OperationType;
+import org.opensearch.client.opensearch.core.get.GetResult;
+import org.opensearch.client.opensearch.core.mget.MultiGetResponseItem;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.*;
 
+/**
+ * Low-level writer for the skills index. Callers go through the index queue
+ * ({@link SkillIndexWorker}); nothing here runs inside a database transaction.
+ * While a rebuild is in progress every write is also sent to the rebuild target.
+ */
 @Component
 @RequiredArgsConstructor
 public class SkillSearchIndexer {
     private final OpenSearchClient openSearchClient;
+    private final SkillIndexManager indexManager;
 
     @Value("${opensearch.index}")
     private String indexName;
 
-    public void indexSkills(Skill skill) {
-        try {
-            openSearchClient.index(i -> i.index(indexName)
-                    .id(skill.getId().toString())
-                    .document(skill));
-
-        } catch (IOException e) {
-            throw new RuntimeException("OpenSearch indexing failed", e);
-        }
-
+    /**
+     * Sends all upserts and deletes as one {@code _bulk} request.
+     *
+     * @return per-skill error reasons for the items OpenSearch rejected; empty when all succeeded
+     * @throws IOException when the request itself could not be sent
+     */
+    public Map<UUID, String> bulk(Collection<Skill> upserts, Collection<UUID> deletes) throws IOException {
+        List<String> targets = new ArrayList<>(2);
+        targets.add(indexName);
+        indexManager.rebuildTarget().ifPresent(targets::add);
+        return execute(targets, upserts, deletes);
     }
 
-    public void deleteSkill(UUID skillId) {
-        try {
-            DeleteRequest deleteRequest = DeleteRequest.of(d -> d
-                    .index(indexName)
-                    .id(skillId.toString())
+    // Writes straight into one index, bypassing the alias; used to load a rebuild target
+    public Map<UUID, String> bulkInto(String index, Collection<Skill> upserts) throws IOException {
+        return execute(List.of(index), upserts, Collections.emptyList());
+    }
 
-            );
+    private Map<UUID, String> execute(List<String> targets, Collection<Skill> upserts, Collection<UUID> deletes)
+            throws IOException {
+        List<BulkOperation> operations = new ArrayList<>((upserts.size() + deletes.size()) * targets.size());
+        for (String target : targets) {
+            for (Skill skill : upserts) {
+                operations.add(BulkOperation.of(o -> o.index(i -> i
+                        .index(target)
+                        .id(skill.getId().toString())
+                        .document(skill))));
+            }
+            for (UUID skillId : deletes) {
+                operations.add(BulkOperation.of(o -> o.delete(d -> d
+                        .index(target)
+                        .id(skillId.toString()))));
+            }
+        }
+        if (operations.isEmpty()) {
+            return Collections.emptyMap();
+        }
 
-            DeleteResponse response = openSearchClient.delete(deleteRequest);
+        BulkResponse response = openSearchClient.bulk(b -> b.operations(operations));
+        if (!response.errors()) {
+            return Collections.emptyMap();
+        }
 
-            System.out.println(" Deleted skill from OpenSearch: " + skillId);
-            System.out.println("  Result: " + response.result());
+        Map<UUID, String> failures = new HashMap<>();
+        for (BulkResponseItem item : response.items()) {
+            // Deleting a document that is already gone is the outcome we wanted
+            boolean alreadyDeleted = item.operationType() == OperationType.Delete && item.status() == 404;
+            if (item.error() != null && !alreadyDeleted) {
+                failures.put(UUID.fromString(item.id()), item.error().reason());
+            }
+        }
+        return failures;
+    }
 
-        } catch (IOException e) {
-            throw new SkillDeletionException("OpenSearch deletion failed for skill: " + skillId, e);
+    /**
+     * Returns the {@code version} stored in each skill's search document. Skills
+     * without a document, or with a document written before versions were indexed,
+     * are absent from the result.
+     */
+    public Map<UUID, Long> fetchVersions(Collection<UUID> skillIds) throws IOException {
+        if (skillIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> ids = skillIds.stream().map(UUID::toString).toList();
+        MgetResponse<Skill> response = openSearchClient.mget(m -> m
+                .index(indexName)
+                .ids(ids)
+                .sourceIncludes("version"), Skill.class);
 
+        Map<UUID, Long> versions = new HashMap<>();
+        for (MultiGetResponseItem<Skill> item : response.docs()) {
+            if (!item.isResult()) {
+                continue;
+            }
+            GetResult<Skill> result = item.result();
+            if (result.found() && result.source() != null && result.source().getVersion() != null) {
+                versions.put(UUID.fromString(result.id()), result.source().getVersion());
+            }
         }
+        return versions;
+    }
+
+    /**
+     * Returns the ids of up to {@code size} documents in the index, in id order,
+     * starting after {@code afterId} ({@code null} for the first page). Only ids are
+     * fetched, no source.
+     */
+    public List<UUID> scanDocumentIds(UUID afterId, int size) throws IOException {
+        SearchResponse<Skill> response = openSearchClient.search(s -> {
+            s.index(indexName)
+                    .size(size)
+                    .source(src -> src.fetch(false))
+                    .trackTotalHits(t -> t.enabled(false))
+                    .sort(so -> so.field(f -> f.field("id").order(SortOrder.Asc)));
+            if (afterId != null) {
+                s.searchAfter(List.of(afterId.toString()));
+            }
+            return s;
+        }, Skill.class);
+
+        return response.hits().hits().stream()
+                .map(hit -> UUID.fromString(hit.id()))
+                .toList();
     }
 }
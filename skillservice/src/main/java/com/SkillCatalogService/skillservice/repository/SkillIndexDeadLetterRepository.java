@@ -0,0 +1,9 @@
+package com.SkillCatalogService.skillservice.repository;
+
+import com.SkillCatalogService.skillservice.model.SkillIndexDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface SkillIndexDeadLetterRepository extends JpaRepository<SkillIndexDeadLetter, UUID> {
+}
@@ -0,0 +1,50 @@
+package com.SkillCatalogService.skillservice.repository;
+
+import com.SkillCatalogService.skillservice.model.SkillIndexTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface SkillIndexTaskRepository extends JpaRepository<SkillIndexTask, UUID> {
+
+    // Coalesces repeated changes to the same skill into one row; a row that is
+    // currently leased keeps its lease and is picked up again after the worker releases it
+    @Modifying
+    @Query(value = """
+            INSERT INTO skill_index_queue (skill_id, revision, attempts, next_attempt_at, enqueued_at)
+            VALUES (:skillId, 1, 0, now(), now())
+            ON CONFLICT (skill_id) DO UPDATE SET
+                revision = skill_index_queue.revision + 1,
+                attempts = 0,
+                next_attempt_at = now(),
+                last_error = NULL,
+                enqueued_at = now()
+            """, nativeQuery = true)
+    void enqueue(@Param("skillId") UUID skillId);
+
+    // SKIP LOCKED lets several workers claim disjoint batches
+    @Query(value = """
+            SELECT * FROM skill_index_queue
+            WHERE next_attempt_at <= :now
+              AND (locked_until IS NULL OR locked_until < :now)
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<SkillIndexTask> findClaimable(@Param("now") Instant now, @Param("limit") int limit);
+
+    // Only removes the row if nothing was enqueued for the skill since it was claimed
+    @Modifying
+    @Query("DELETE FROM SkillIndexTask t WHERE t.skillId = :skillId AND t.revision = :revision")
+    int deleteIfUnchanged(@Param("skillId") UUID skillId, @Param("revision") long revision);
+
+    @Modifying
+    @Query("UPDATE SkillIndexTask t SET t.lockedUntil = NULL WHERE t.skillId IN :skillIds")
+    void release(@Param("skillIds") Collection<UUID> skillIds);
+}
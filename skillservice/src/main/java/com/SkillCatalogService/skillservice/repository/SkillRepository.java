@@ -2,8 +2,15 @@ package com.SkillCatalogService.skillservice.repository;
 
 import com.SkillCatalogService.skillservice.model.Skill;
 import com.SkillCatalogService.skillservice.model.SkillStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,4 +36,109 @@ public interface SkillRepository extends JpaRepository<Skill, UUID> {
 
     void deleteByUserId(UUID userId);
 
+    // Keyset page by primary key, for streaming the whole table without OFFSET
+    List<Skill> findByIdGreaterThanOrderByIdAsc(UUID afterId, Limit limit);
+
+    @Query("SELECT s.id FROM Skill s WHERE s.userId = :userId")
+    List<UUID> findIdsByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT s.id FROM Skill s WHERE s.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // A bulk update skips @PreUpdate, so updated_at is set here: the index reconciler and the
+    // reindex catch-up page on (updated_at, id) and would otherwise never revisit these rows.
+    // VERSIONED bumps the row version, so they see the documents as stale once they do
+    @Modifying
+    @Query("""
+            UPDATE VERSIONED Skill s
+            SET s.providerName = :name, s.providerAvatarUrl = :avatarUrl, s.providerCity = :city,
+                s.updatedAt = :now
+            WHERE s.userId = :userId
+            """)
+    int updateProviderProfile(@Param("userId") UUID userId,
+                              @Param("name") String name,
+                              @Param("avatarUrl") String avatarUrl,
+                              @Param("city") String city,
+                              @Param("now") Instant now);
+
+    @Query("SELECT DISTINCT s.userId FROM Skill s WHERE s.providerName IS NULL")
+    List<UUID> findUserIdsWithoutProviderProfile(Pageable pageable);
+
+    // Keyset page over (updated_at, id), served by idx_skills_updated_at_id; used to
+    // compare row versions with the search index
+    @Query(value = """
+            SELECT id, version, updated_at AS "updatedAt" FROM skills
+            WHERE (updated_at, id) > (:afterUpdatedAt, :afterId)
+            ORDER BY updated_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<SkillVersionView> findVersionsUpdatedAfter(@Param("afterUpdatedAt") Instant afterUpdatedAt,
+                                                    @Param("afterId") UUID afterId,
+                                                    @Param("limit") int limit);
+
+    // Ranked full-text match for the search fallback: search_vector (GIN) covers words in
+    // title and description, the trigram index on title catches typos. Needs FullTextSearchSchema.
+    @Query(value = """
+            SELECT s.* FROM skills s
+            WHERE s.status = 'ACTIVE'
+              AND (s.search_vector @@ websearch_to_tsquery('english', :query) OR s.title % :query)
+            ORDER BY ts_rank(s.search_vector, websearch_to_tsquery('english', :query))
+                     + similarity(s.title, :query) DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Skill> searchFullText(@Param("query") String query, @Param("limit") int limit);
+
+    // Most used active titles and tags with their skill counts; feeds the suggest trie
+    @Query("""
+            SELECT s.title AS term, COUNT(s) AS weight FROM Skill s
+            WHERE s.status = :status
+            GROUP BY s.title
+            ORDER BY COUNT(s) DESC
+            """)
+    List<TermCountView> countTitles(@Param("status") SkillStatus status, Pageable pageable);
+
+    @Query("""
+            SELECT t AS term, COUNT(s) AS weight FROM Skill s JOIN s.tags t
+            WHERE s.status = :status
+            GROUP BY t
+            ORDER BY COUNT(s) DESC
+            """)
+    List<TermCountView> countTags(@Param("status") SkillStatus status, Pageable pageable);
+
+    // Admin stats fallback when OpenSearch is unavailable; grouped in SQL instead of loading every skill
+    @Query("SELECT s.status AS term, COUNT(s) AS weight FROM Skill s GROUP BY s.status")
+    List<StatusCountView> countByStatus();
+
+    @Query("SELECT s.level AS term, COUNT(s) AS weight FROM Skill s GROUP BY s.level ORDER BY COUNT(s) DESC")
+    List<TermCountView> countByLevel();
+
+    @Query("SELECT s.userId AS userId, COUNT(s) AS weight FROM Skill s GROUP BY s.userId ORDER BY COUNT(s) DESC")
+    List<TeacherCountView> countByTeacher(Pageable pageable);
+
+    interface StatusCountView {
+        SkillStatus getTerm();
+
+        Long getWeight();
+    }
+
+    interface TeacherCountView {
+        UUID getUserId();
+
+        Long getWeight();
+    }
+
+    interface TermCountView {
+        String getTerm();
+
+        Long getWeight();
+    }
+
+    interface SkillVersionView {
+        UUID getId();
+
+        Long getVersion();
+
+        Instant getUpdatedAt();
+    }
+
 }
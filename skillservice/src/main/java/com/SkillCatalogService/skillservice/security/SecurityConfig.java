@@ -19,6 +19,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ServiceTokenFilter serviceTokenFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
 
@@ -39,9 +40,14 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/search").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/search/*").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/search/skillSearch").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/search/skillSearch/scroll").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/search/user/*").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/search/user/*/scroll").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/search/search").permitAll()
 
+                        // Bulk lookup for other services (service token) and signed-in users
+                        .requestMatchers(HttpMethod.POST, "/api/search/batch").authenticated()
+
                         // Teacher endpoints - Only TEACHER or ADMIN
                         .requestMatchers(HttpMethod.POST, "/api/skills").hasAnyRole("TEACHER", "ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/skills/**").hasAnyRole("TEACHER", "ADMIN")
@@ -51,12 +57,15 @@ public class SecurityConfig {
                         // Admin endpoints
                         .requestMatchers(HttpMethod.GET, "/api/skills/all").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/skills/stats").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/skills/index/**").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/skills/index/**").hasRole("ADMIN")
 
 
 
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(serviceTokenFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(jwtAuthenticationFilter, ServiceTokenFilter.class);
 
         return http.build();
 
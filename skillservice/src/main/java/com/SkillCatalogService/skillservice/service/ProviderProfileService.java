@@ -0,0 +1,103 @@
+package com.SkillCatalogService.skillservice.service;
+
+import com.SkillCatalogService.skillservice.model.Skill;
+import com.SkillCatalogService.skillservice.repository.SkillRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the provider name, avatar and city stored on each skill in line with the
+ * user's profile. They are copied when a skill is created, refreshed from
+ * profile-updated events, and backfilled for rows created before the columns existed.
+ * Every change re-queues the provider's skills, so the search documents follow.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderProfileService {
+
+    private final SkillRepository repository;
+    private final SkillIndexQueue indexQueue;
+    private final UserClient userClient;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.provider-profile.backfill-batch-size:100}")
+    private int backfillBatchSize;
+
+    public static String fallbackName(UUID userId) {
+        return "Mentor " + userId.toString().substring(0, 8);
+    }
+
+    // One lookup on the write path, so no read path has to make it
+    public void stamp(Skill skill) {
+        Map<String, Object> details = userClient.getUserDetails(skill.getUserId());
+        skill.setProviderName(nameOf(skill.getUserId(), details));
+        if (details != null) {
+            skill.setProviderAvatarUrl((String) details.get("avatarUrl"));
+            skill.setProviderCity((String) details.get("city"));
+        }
+    }
+
+    @Transactional
+    public int apply(UUID userId, String displayName, String avatarUrl, String city) {
+        String name = displayName != null ? displayName : fallbackName(userId);
+        int updated = repository.updateProviderProfile(userId, name, avatarUrl, city, Instant.now());
+        if (updated > 0) {
+            indexQueue.enqueueAll(repository.findIdsByUserId(userId));
+            log.info("Refreshed provider profile on {} skills of user {}", updated, userId);
+        }
+        return updated;
+    }
+
+    @Scheduled(initialDelayString = "${app.provider-profile.backfill-initial-delay-ms:30000}",
+            fixedDelayString = "${app.provider-profile.backfill-interval-ms:600000}")
+    public void backfill() {
+        List<UUID> userIds = repository.findUserIdsWithoutProviderProfile(PageRequest.of(0, backfillBatchSize));
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Map<UUID, Map<String, Object>> profiles = userClient.getUserDetails(userIds);
+        if (profiles.isEmpty()) {
+            log.warn("Provider profile backfill skipped, user service returned no profiles");
+            return;
+        }
+        for (UUID userId : userIds) {
+            Map<String, Object> details = profiles.get(userId);
+            // Users without a profile get the fallback name; creating a profile later sends an update event.
+            // apply() is called on this, bypassing its @Transactional proxy, so each user gets its own
+            // transaction here; one failing user does not roll back the others
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(userId,
+                        nameOf(userId, details),
+                        details != null ? (String) details.get("avatarUrl") : null,
+                        details != null ? (String) details.get("city") : null));
+            } catch (Exception e) {
+                log.warn("Provider profile backfill failed for user {}: {}", userId, e.getMessage());
+            }
+        }
+        log.info("Backfilled provider profile for {} users", userIds.size());
+    }
+
+    private static String nameOf(UUID userId, Map<String, Object> details) {
+        if (details != null) {
+            if (details.get("displayName") != null) {
+                return (String) details.get("displayName");
+            }
+            if (details.get("name") != null) {
+                return (String) details.get("name");
+            }
+        }
+        return fallbackName(userId);
+    }
+}
@@ -0,0 +1,168 @@
+package com.SkillCatalogService.skillservice.service;
+
+import com.SkillCatalogService.skillservice.event.SkillIndexQueuedEvent;
+import com.SkillCatalogService.skillservice.model.SkillIndexDeadLetter;
+import com.SkillCatalogService.skillservice.model.SkillIndexTask;
+import com.SkillCatalogService.skillservice.repository.SkillIndexDeadLetterRepository;
+import com.SkillCatalogService.skillservice.repository.SkillIndexTaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Durable queue of skills whose search document needs refreshing. Skill writes
+ * enqueue in their own transaction, so a change is never lost even when
+ * OpenSearch is down; {@code SkillIndexWorker} drains the queue in bulk.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SkillIndexQueue {
+
+    private final SkillIndexTaskRepository taskRepository;
+    private final SkillIndexDeadLetterRepository deadLetterRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.search-index.lease:60s}")
+    private Duration lease;
+
+    @Value("${app.search-index.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.search-index.backoff-initial:2s}")
+    private Duration backoffInitial;
+
+    @Value("${app.search-index.backoff-max:10m}")
+    private Duration backoffMax;
+
+    // ==================== WRITE SIDE (joins the skill transaction) ====================
+
+    @Transactional
+    public void enqueue(UUID skillId) {
+        enqueueAll(List.of(skillId));
+    }
+
+    @Transactional
+    public void enqueueAll(Collection<UUID> skillIds) {
+        if (skillIds.isEmpty()) {
+            return;
+        }
+        skillIds.forEach(taskRepository::enqueue);
+        eventPublisher.publishEvent(new SkillIndexQueuedEvent(skillIds.size()));
+    }
+
+    // ==================== WORKER SIDE (short transactions, no OpenSearch I/O inside) ====================
+
+    /**
+     * Claims up to {@code limit} due tasks by leasing them for {@code app.search-index.lease}.
+     * A task whose worker dies is picked up again once the lease runs out.
+     */
+    @Transactional
+    public List<SkillIndexTask> claimBatch(int limit) {
+        Instant now = Instant.now();
+        List<SkillIndexTask> batch = taskRepository.findClaimable(now, limit);
+        batch.forEach(t -> t.setLockedUntil(now.plus(lease)));
+        return batch;
+    }
+
+    /**
+     * Removes tasks whose documents were written. A task that was re-enqueued
+     * while in flight survives with its lease cleared, so the newer state of the
+     * skill is indexed on the next pass.
+     */
+    @Transactional
+    public void complete(Collection<SkillIndexTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        tasks.forEach(t -> taskRepository.deleteIfUnchanged(t.getSkillId(), t.getRevision()));
+        taskRepository.release(tasks.stream().map(SkillIndexTask::getSkillId).toList());
+    }
+
+    /**
+     * Schedules a retry with exponential backoff, or moves the task to the dead-letter
+     * table once {@code app.search-index.max-attempts} is reached.
+     */
+    @Transactional
+    public void fail(Map<SkillIndexTask, String> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        Map<UUID, SkillIndexTask> current = taskRepository.findAllById(
+                        failures.keySet().stream().map(SkillIndexTask::getSkillId).toList()).stream()
+                .collect(Collectors.toMap(SkillIndexTask::getSkillId, t -> t));
+        Instant now = Instant.now();
+
+        failures.forEach((claimed, error) -> {
+            SkillIndexTask task = current.get(claimed.getSkillId());
+            if (task == null) {
+                return;
+            }
+            task.setLockedUntil(null);
+            if (task.getRevision() != claimed.getRevision()) {
+                // Changed again while in flight; the fresh enqueue already reset the retry state
+                return;
+            }
+
+            String reason = truncate(error);
+            int attempts = task.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                deadLetterRepository.save(SkillIndexDeadLetter.builder()
+                        .skillId(task.getSkillId())
+                        .attempts(attempts)
+                        .lastError(reason)
+                        .failedAt(now)
+                        .build());
+                taskRepository.delete(task);
+                log.error("Skill {} dead-lettered after {} indexing attempts: {}", task.getSkillId(), attempts, reason);
+                return;
+            }
+
+            task.setAttempts(attempts);
+            task.setLastError(reason);
+            task.setNextAttemptAt(now.plus(backoff(attempts)));
+        });
+    }
+
+    // ==================== DEAD LETTERS ====================
+
+    @Transactional
+    public int replayDeadLetters() {
+        List<SkillIndexDeadLetter> deadLetters = deadLetterRepository.findAll();
+        Set<UUID> skillIds = deadLetters.stream()
+                .map(SkillIndexDeadLetter::getSkillId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        enqueueAll(skillIds);
+        deadLetterRepository.deleteAllInBatch(deadLetters);
+        log.info("Replayed {} dead-lettered skills into the index queue", skillIds.size());
+        return skillIds.size();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("queued", taskRepository.count());
+        status.put("deadLetters", deadLetterRepository.count());
+        return status;
+    }
+
+    // initial * 2^(attempts-1), capped, with +-20% jitter so a burst of failures does not retry in lockstep
+    private Duration backoff(int attempts) {
+        long base = backoffInitial.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, backoffMax.toMillis());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (capped * jitter));
+    }
+
+    private String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -0,0 +1,134 @@
+package com.SkillCatalogService.skillservice.service;
+
+import com.SkillCatalogService.skillservice.DTO.SkillResponse;
+import com.SkillCatalogService.skillservice.DTO.SkillSearchResult;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size- and TTL-bounded cache of OpenSearch result pages, keyed by the normalized
+ * query parameters. Concurrent misses for the same key share one in-flight query.
+ * Every key carries the current generation; {@link #invalidate()} bumps it on any
+ * skill change, so older entries are never read again and simply age out.
+ * Hit/miss/eviction counts are published as {@code cache.*} metrics.
+ */
+@Component
+@Slf4j
+public class SkillSearchCache {
+
+    private final AsyncCache<Key, Object> results;
+    private final AtomicLong generation = new AtomicLong();
+
+    public SkillSearchCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.search-cache.max-size:2000}") long maxSize,
+            @Value("${app.search-cache.ttl:30s}") Duration ttl) {
+
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "skillSearchResults");
+    }
+
+    public SkillSearchResult search(String q, List<String> tags, String level,
+                                    Double minPrice, Double maxPrice, int page, int size,
+                                    String sortField, String sortDirection, boolean facets,
+                                    Supplier<SkillSearchResult> loader) {
+        List<String> normalizedTags = tags == null ? List.of() : tags.stream()
+                .map(SkillSearchCache::normalize)
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+        return get(new Key(generation.get(), "search", List.of(
+                normalize(q), normalizedTags, normalize(level),
+                String.valueOf(minPrice), String.valueOf(maxPrice), page, size,
+                String.valueOf(sortField), normalize(sortDirection), facets)),
+                () -> freeze(loader.get()),
+                r -> r.toBuilder().results(new ArrayList<>(r.getResults())).build());
+    }
+
+    public List<SkillResponse> getAllSkills(String search, String level,
+                                            Supplier<List<SkillResponse>> loader) {
+        return get(new Key(generation.get(), "all", List.of(normalize(search), normalize(level))),
+                () -> List.copyOf(loader.get()), ArrayList::new);
+    }
+
+    public List<SkillResponse> searchSkillsByQuery(String query, Supplier<List<SkillResponse>> loader) {
+        return get(new Key(generation.get(), "query", List.of(normalize(query))),
+                () -> List.copyOf(loader.get()), ArrayList::new);
+    }
+
+    // Called on every skill create/update/delete and after each index flush
+    public void invalidate() {
+        long next = generation.incrementAndGet();
+        results.synchronous().invalidateAll();
+        log.debug("Skill search cache invalidated, generation {}", next);
+    }
+
+    // The first caller for a key runs the query on its own thread; identical concurrent calls
+    // wait on the same future. A failed query is removed so the next call retries it.
+    // Loaders return an unmodifiable value; callers get their own copy of it.
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key, Supplier<T> loader, UnaryOperator<T> copy) {
+        ConcurrentMap<Key, CompletableFuture<Object>> map = results.asMap();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = map.putIfAbsent(key, future);
+
+        if (inFlight == null) {
+            try {
+                future.complete(loader.get());
+            } catch (RuntimeException e) {
+                map.remove(key, future);
+                future.completeExceptionally(e);
+                throw e;
+            }
+            inFlight = future;
+        }
+
+        try {
+            return copy.apply((T) inFlight.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static SkillSearchResult freeze(SkillSearchResult result) {
+        return result.toBuilder()
+                .results(List.copyOf(result.getResults()))
+                .facets(result.getFacets() != null ? Map.copyOf(result.getFacets()) : null)
+                .build();
+    }
+
+    // Query text, tags and level are matched against analyzed fields, so case and
+    // surrounding whitespace do not change the result
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(long generation, String operation, List<Object> params) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.SkillCatalogService.skillservice.service;
+
+import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.InvalidSearchParametersException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque position in a cursor-paginated skill search: the point-in-time id, the sort
+ * values of the last hit returned, and a fingerprint of the query so a cursor cannot
+ * be replayed against different filters or a different sort.
+ */
+record SkillSearchCursor(String pitId, List<String> after, String fingerprint) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode search cursor", e);
+        }
+    }
+
+    static SkillSearchCursor decode(String cursor, String fingerprint) {
+        SkillSearchCursor decoded;
+        try {
+            decoded = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), SkillSearchCursor.class);
+        } catch (Exception e) {
+            throw new InvalidSearchParametersException("Invalid cursor", e);
+        }
+        if (decoded.pitId() == null || decoded.after() == null || decoded.after().isEmpty()) {
+            throw new InvalidSearchParametersException("Invalid cursor", null);
+        }
+        if (!Objects.equals(decoded.fingerprint(), fingerprint)) {
+            throw new InvalidSearchParametersException("Cursor does not match the search parameters", null);
+        }
+        return decoded;
+    }
+
+    static String fingerprint(Object... params) {
+        String key = Arrays.stream(params)
+                .map(p -> p instanceof Collection<?> values
+                        ? new TreeSet<>(values.stream().map(String::valueOf).toList()).toString()
+                        : String.valueOf(p))
+                .collect(Collectors.joining("|"));
+        return Integer.toHexString(key.hashCode());
+    }
+}
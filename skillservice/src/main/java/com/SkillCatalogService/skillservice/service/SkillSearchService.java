@@ -1,11 +1,16 @@
 package com.SkillCatalogService.skillservice.service;
 
+import com.SkillCatalogService.skillservice.DTO.FacetBucket;
 import com.SkillCatalogService.skillservice.DTO.SkillResponse;
+import com.SkillCatalogService.skillservice.DTO.SkillSearchResult;
+import com.SkillCatalogService.skillservice.DTO.SkillSuggestion;
 import com.SkillCatalogService.skillservice.exceptionHandle.GlobalExceptionHandle;
 import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.InvalidSearchParametersException;
 import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.SearchServiceException;
 import com.SkillCatalogService.skillservice.model.Skill;
+import com.SkillCatalogService.skillservice.model.SkillStatus;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.opensearch.client.json.JsonData;
@@ -14,10 +19,14 @@ import org.opensearch.client.opensearch.OpenSearchClient;
 import org.opensearch.client.opensearch._types.FieldValue;
 import org.opensearch.client.opensearch._types.OpenSearchException;
 import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch._types.aggregations.Aggregate;
 import org.opensearch.client.opensearch._types.query_dsl.BoolQuery;
 import org.opensearch.client.opensearch._types.query_dsl.Query;
+import org.opensearch.client.opensearch._types.query_dsl.TextQueryType;
 import org.opensearch.client.opensearch.core.SearchRequest;
 import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.Pit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -26,9 +35,15 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 
@@ -39,91 +54,120 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SkillSearchService {
 
+    // Same per-user cap as getSkillsByUserId, with a ceiling for the multi-user lookup
+    private static final int SKILLS_PER_USER = 100;
+    private static final int MAX_SKILLS_BY_USERS = 1000;
+
+    // Levels are a short, fixed list
+    private static final int LEVEL_FACET_SIZE = 10;
+
     private final OpenSearchClient client;
+    private final SkillSearchCache cache;
+    private final CircuitBreaker circuitBreaker;
 
 
 
     @Value("${opensearch.index}")
     private String index;
 
-    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandle.class);
-
-    public List<SkillResponse> search(String q,
-                                      List<String> tags,
-                                      String level,
-                                      Double minPrice,
-                                      Double maxPrice,
-                                      int page,
-                                      int size,
-                                      String sortField,
-                                      String sortDirection) {
-        try {
-            List<Query> must = new ArrayList<>();
-            List<Query> filter = new ArrayList<>();
+    @Value("${app.search-facets.tag-size:20}")
+    private int tagFacetSize;
 
-            if (q != null && !q.isBlank()) {
-                must.add(Query.of(b -> b.multiMatch(mm -> mm.query(q).fields("title", "description", "tags"))));
-            }
-            if (tags != null && !tags.isEmpty()) {
-                List<Query> tagShould = tags.stream()
-                        .map(t -> Query.of(b -> b.match(m -> m.field("tags").query(FieldValue.of(t)))))
-                        .collect(Collectors.toList());
-                filter.add(Query.of(b -> b.bool(bb -> bb.should(tagShould).minimumShouldMatch("1"))));
-            }
+    @Value("${app.search-facets.price-interval:25}")
+    private double priceFacetInterval;
 
-            if (level != null && !level.isEmpty()) {
-                filter.add(Query.of(b -> b.match(m -> m.field("level").query(FieldValue.of(level)))));
-            }
+    @Value("${app.search-pagination.keep-alive:1m}")
+    private String pitKeepAlive;
 
-            if (minPrice != null || maxPrice != null) {
-                filter.add(Query.of(b -> b.range(r -> {
-                    r.field("pricePerHour");
-                    if (minPrice != null) r.gte(JsonData.of(minPrice));
-                    if (maxPrice != null) r.lte(JsonData.of(maxPrice));
-                    return r;
-                })));
-            }
+    @Value("${app.search-pagination.max-size:100}")
+    private int maxPageSize;
 
-            BoolQuery.Builder bool = new BoolQuery.Builder();
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandle.class);
 
-            if (must.isEmpty() && filter.isEmpty()) {
-                return Collections.emptyList();
-            }else if (!must.isEmpty()) bool.must(must);
+    public SkillSearchResult search(String q,
+                                    List<String> tags,
+                                    String level,
+                                    Double minPrice,
+                                    Double maxPrice,
+                                    int page,
+                                    int size,
+                                    String sortField,
+                                    String sortDirection,
+                                    boolean facets) {
+        return cache.search(q, tags, level, minPrice, maxPrice, page, size, sortField, sortDirection, facets,
+                () -> guarded(() -> querySearch(q, tags, level, minPrice, maxPrice, page, size, sortField,
+                        sortDirection, facets)));
+    }
 
-            if (!filter.isEmpty()) bool.filter(filter);
+    private SkillSearchResult querySearch(String q,
+                                          List<String> tags,
+                                          String level,
+                                          Double minPrice,
+                                          Double maxPrice,
+                                          int page,
+                                          int size,
+                                          String sortField,
+                                          String sortDirection,
+                                          boolean facets) {
+        try {
+            Query query = buildSearchQuery(q, tags, level, minPrice, maxPrice);
+            if (query == null) {
+                return SkillSearchResult.builder()
+                        .results(Collections.emptyList())
+                        .facets(facets ? Map.of() : null)
+                        .build();
+            }
 
-            SearchRequest sr = SearchRequest.of(s -> s
-                    .index(index)
-                    .query(bool.build()._toQuery())
-                    .from(page * size)
-                    .size(size)
-                    .sort(so -> so.field(f -> f.field(sortField).order("asc".equalsIgnoreCase(sortDirection) ? SortOrder.Asc : SortOrder.Desc)))
-            );
+            // Facets ride along in the same request, so the sidebar needs no extra round trips
+            SearchRequest sr = SearchRequest.of(s -> {
+                s.index(index)
+                        .query(query)
+                        .from(page * size)
+                        .size(size)
+                        .sort(so -> so.field(f -> f.field(sortField).order("asc".equalsIgnoreCase(sortDirection) ? SortOrder.Asc : SortOrder.Desc)));
+                if (facets) {
+                    s.aggregations("tags", a -> a.terms(t -> t.field("tags.keyword").size(tagFacetSize)))
+                            .aggregations("level", a -> a.terms(t -> t.field("level.keyword").size(LEVEL_FACET_SIZE)))
+                            .aggregations("price", a -> a.histogram(h -> h
+                                    .field("pricePerHour")
+                                    .interval(priceFacetInterval)
+                                    .minDocCount(1)));
+                }
+                return s;
+            });
             SearchResponse<Skill> resp = client.search(sr, Skill.class);
-            if (resp.hits() == null) return Collections.emptyList();
 
-            return resp.hits().hits().stream()
-                    .map(h -> {
-                        Skill s = h.source();
-                        return SkillResponse.builder()
-                                .id(s.getId())
-                                .userId(s.getUserId())
-                                .title(s.getTitle())
-                                .description(s.getDescription())
-                                .tags(s.getTags())
-                                .level(s.getLevel())
-                                .pricePerHour(s.getPricePerHour())
-                                .status(s.getStatus() != null ? s.getStatus().name() : null)
-                                .createdAt(s.getCreatedAt())
-                                .updatedAt(s.getUpdatedAt())
-                                .build();
-                    })
+            List<SkillResponse> results = resp.hits() == null ? Collections.emptyList() : resp.hits().hits().stream()
+                    .map(h -> toResponse(h.source()))
                     .collect(Collectors.toList());
+
+            Map<String, List<FacetBucket>> facetBuckets = null;
+            if (facets) {
+                facetBuckets = new LinkedHashMap<>();
+                facetBuckets.put("tags", termBuckets(resp.aggregations().get("tags")));
+                facetBuckets.put("level", termBuckets(resp.aggregations().get("level")));
+                facetBuckets.put("price", resp.aggregations().get("price").histogram().buckets().array().stream()
+                        .map(b -> FacetBucket.builder()
+                                .key(String.valueOf(b.key()))
+                                .count(b.docCount())
+                                .build())
+                        .collect(Collectors.toList()));
+            }
+
+            return SkillSearchResult.builder()
+                    .results(results)
+                    .facets(facetBuckets)
+                    .build();
         } catch (IOException e) {
             logger.error("OpenSearch I/O error during search: {}", e.getMessage(), e);
             throw new SearchServiceException("Failed to communicate with search service", e);
 
         } catch (OpenSearchException e) {
+            if (e.status() >= 400 && e.status() < 500) {
+                // The query itself was rejected, e.g. sorting on a text field or an unmapped field
+                logger.warn("OpenSearch rejected search - Status: {}, Reason: {}", e.status(), e.getMessage());
+                throw new InvalidSearchParametersException("Invalid search parameters: " + e.getMessage(), e);
+            }
             logger.error("OpenSearch error during search - Status: {}, Reason: {}",
                     e.status(), e.getMessage(), e);
             throw new SearchServiceException("Search query failed: " + e.getMessage(), e);
@@ -143,7 +187,174 @@ public class SkillSearchService {
 
 
 
+    // Deep pages for infinite scroll and crawlers: search_after over a point-in-time snapshot taken
+    // after the first page, so page N costs the same as page 1 and is not limited by the 10k result window
+    public Map<String, Object> searchPage(String q,
+                                          List<String> tags,
+                                          String level,
+                                          Double minPrice,
+                                          Double maxPrice,
+                                          int size,
+                                          String sortField,
+                                          String sortDirection,
+                                          String cursor) {
+        Query query = buildSearchQuery(q, tags, level, minPrice, maxPrice);
+        if (query == null) {
+            return page(Collections.emptyList(), null);
+        }
+        SortOrder order = "asc".equalsIgnoreCase(sortDirection) ? SortOrder.Asc : SortOrder.Desc;
+        String fingerprint = SkillSearchCursor.fingerprint(q, tags, level, minPrice, maxPrice, sortField, order);
+        return guarded(() -> searchPage(query, sortField, order, size, cursor, fingerprint));
+    }
+
+    public Map<String, Object> getSkillsByUserIdPage(UUID userId, int size, String cursor) {
+        Query query = Query.of(b -> b.bool(bb -> bb.filter(f -> f.term(t -> t
+                .field("userId")
+                .value(FieldValue.of(userId.toString()))))));
+        String fingerprint = SkillSearchCursor.fingerprint(userId, "createdAt", SortOrder.Desc);
+        return guarded(() -> searchPage(query, "createdAt", SortOrder.Desc, size, cursor, fingerprint));
+    }
+
+    private Map<String, Object> searchPage(Query query, String sortField, SortOrder order,
+                                           int size, String cursor, String fingerprint) {
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidSearchParametersException(
+                    "size must be between 1 and " + maxPageSize, null);
+        }
+        SkillSearchCursor position = cursor == null || cursor.isBlank()
+                ? null
+                : SkillSearchCursor.decode(cursor, fingerprint);
+
+        try {
+            // The first page is a plain query; a point in time is opened only once there is a next
+            // page to hand a cursor out for, so one-page and abandoned searches leave no PIT behind
+            String pitId = position != null ? position.pitId() : null;
+
+            SearchRequest sr = SearchRequest.of(s -> {
+                if (pitId != null) {
+                    s.pit(Pit.of(p -> p.id(pitId).keepAlive(pitKeepAlive)));
+                } else {
+                    s.index(index);
+                }
+                s.query(query)
+                        .size(size)
+                        .trackTotalHits(t -> t.enabled(false))
+                        .sort(so -> so.field(f -> f.field(sortField).order(order)))
+                        // id is unique per skill, so ties on the sort field still page deterministically
+                        .sort(so -> so.field(f -> f.field("id").order(order)));
+                if (position != null) {
+                    s.searchAfter(position.after());
+                }
+                return s;
+            });
+            SearchResponse<Skill> resp = client.search(sr, Skill.class);
+
+            List<Hit<Skill>> hits = resp.hits() != null ? resp.hits().hits() : List.of();
+            List<SkillResponse> results = hits.stream()
+                    .map(h -> toResponse(h.source()))
+                    .collect(Collectors.toList());
+
+            if (hits.size() < size) {
+                if (pitId != null) {
+                    closePit(resp.pitId() != null ? resp.pitId() : pitId);
+                }
+                return page(results, null);
+            }
+            // The PIT id can change between requests; always hand back the latest one
+            String nextPitId = pitId == null ? openPit() : resp.pitId() != null ? resp.pitId() : pitId;
+            List<String> after = hits.get(hits.size() - 1).sort();
+            return page(results, new SkillSearchCursor(nextPitId, after, fingerprint).encode());
+
+        } catch (IOException e) {
+            logger.error("OpenSearch I/O error during cursor search: {}", e.getMessage(), e);
+            throw new SearchServiceException("Failed to communicate with search service", e);
+        } catch (OpenSearchException e) {
+            if (position != null && e.status() == 404) {
+                throw new InvalidSearchParametersException(
+                        "Cursor has expired, start again from the first page", e);
+            }
+            if (e.status() >= 400 && e.status() < 500) {
+                logger.warn("OpenSearch rejected cursor search - Status: {}, Reason: {}", e.status(), e.getMessage());
+                throw new InvalidSearchParametersException("Invalid search parameters: " + e.getMessage(), e);
+            }
+            logger.error("OpenSearch error during cursor search - Status: {}, Reason: {}",
+                    e.status(), e.getMessage(), e);
+            throw new SearchServiceException("Search query failed: " + e.getMessage(), e);
+        }
+    }
+
+    private String openPit() throws IOException {
+        return client.createPit(p -> p
+                .targetIndexes(index)
+                .keepAlive(t -> t.time(pitKeepAlive)))
+                .pitId();
+    }
+
+    // Best effort: an unclosed PIT is released by OpenSearch once its keep-alive lapses
+    private void closePit(String pitId) {
+        try {
+            client.deletePit(d -> d.pitId(List.of(pitId)));
+        } catch (Exception e) {
+            log.debug("Failed to close point in time: {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> page(List<SkillResponse> results, String nextCursor) {
+        Map<String, Object> page = new HashMap<>();
+        page.put("results", results);
+        page.put("count", results.size());
+        page.put("nextCursor", nextCursor);
+        page.put("hasMore", nextCursor != null);
+        return page;
+    }
+
+    // Null when there is nothing to search for
+    private Query buildSearchQuery(String q,
+                                   List<String> tags,
+                                   String level,
+                                   Double minPrice,
+                                   Double maxPrice) {
+        List<Query> must = new ArrayList<>();
+        List<Query> filter = new ArrayList<>();
+
+        if (q != null && !q.isBlank()) {
+            must.add(Query.of(b -> b.multiMatch(mm -> mm.query(q).fields("title", "description", "tags"))));
+        }
+        if (tags != null && !tags.isEmpty()) {
+            List<Query> tagShould = tags.stream()
+                    .map(t -> Query.of(b -> b.match(m -> m.field("tags").query(FieldValue.of(t)))))
+                    .collect(Collectors.toList());
+            filter.add(Query.of(b -> b.bool(bb -> bb.should(tagShould).minimumShouldMatch("1"))));
+        }
+
+        if (level != null && !level.isEmpty()) {
+            filter.add(Query.of(b -> b.match(m -> m.field("level").query(FieldValue.of(level)))));
+        }
+
+        if (minPrice != null || maxPrice != null) {
+            filter.add(Query.of(b -> b.range(r -> {
+                r.field("pricePerHour");
+                if (minPrice != null) r.gte(JsonData.of(minPrice));
+                if (maxPrice != null) r.lte(JsonData.of(maxPrice));
+                return r;
+            })));
+        }
+
+        if (must.isEmpty() && filter.isEmpty()) {
+            return null;
+        }
+
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+        if (!must.isEmpty()) bool.must(must);
+        if (!filter.isEmpty()) bool.filter(filter);
+        return bool.build()._toQuery();
+    }
+
     public List<SkillResponse> getAllSkills(String search, String level) {
+        return cache.getAllSkills(search, level, () -> guarded(() -> queryAllSkills(search, level)));
+    }
+
+    private List<SkillResponse> queryAllSkills(String search, String level) {
         try {
             List<Query> must = new ArrayList<>();
             List<Query> filter = new ArrayList<>();
@@ -188,21 +399,7 @@ public class SkillSearchService {
             }
 
             return resp.hits().hits().stream()
-                    .map(h -> {
-                        Skill s = h.source();
-                        return SkillResponse.builder()
-                                .id(s.getId())
-                                .userId(s.getUserId())
-                                .title(s.getTitle())
-                                .description(s.getDescription())
-                                .tags(s.getTags())
-                                .level(s.getLevel())
-                                .pricePerHour(s.getPricePerHour())
-                                .status(s.getStatus() != null ? s.getStatus().name() : null)
-                                .createdAt(s.getCreatedAt())
-                                .updatedAt(s.getUpdatedAt())
-                                .build();
-                    })
+                    .map(h -> toResponse(h.source()))
                     .collect(Collectors.toList());
 
         } catch (IOException e) {
@@ -218,6 +415,10 @@ public class SkillSearchService {
 
 
     public List<SkillResponse> getSkillsByUserId(UUID userId) {
+        return guarded(() -> querySkillsByUserId(userId));
+    }
+
+    private List<SkillResponse> querySkillsByUserId(UUID userId) {
         try {
             List<Query> filter = new ArrayList<>();
 
@@ -243,21 +444,7 @@ public class SkillSearchService {
             }
 
             return resp.hits().hits().stream()
-                    .map(h -> {
-                        Skill s = h.source();
-                        return SkillResponse.builder()
-                                .id(s.getId())
-                                .userId(s.getUserId())
-                                .title(s.getTitle())
-                                .description(s.getDescription())
-                                .tags(s.getTags())
-                                .level(s.getLevel())
-                                .pricePerHour(s.getPricePerHour())
-                                .status(s.getStatus() != null ? s.getStatus().name() : null)
-                                .createdAt(s.getCreatedAt())
-                                .updatedAt(s.getUpdatedAt())
-                                .build();
-                    })
+                    .map(h -> toResponse(h.source()))
                     .collect(Collectors.toList());
 
         } catch (IOException e) {
@@ -269,7 +456,166 @@ public class SkillSearchService {
         }
     }
 
+    // All skills of several users with one terms query, instead of one search per user
+    public List<SkillResponse> getSkillsByUserIds(Collection<UUID> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return guarded(() -> querySkillsByUserIds(userIds));
+    }
+
+    private List<SkillResponse> querySkillsByUserIds(Collection<UUID> userIds) {
+        try {
+            List<FieldValue> values = userIds.stream()
+                    .map(id -> FieldValue.of(id.toString()))
+                    .collect(Collectors.toList());
+
+            SearchRequest sr = SearchRequest.of(s -> s
+                    .index(index)
+                    .query(q -> q.bool(b -> b.filter(f -> f.terms(t -> t
+                            .field("userId")
+                            .terms(tv -> tv.value(values))))))
+                    .size(Math.min(userIds.size() * SKILLS_PER_USER, MAX_SKILLS_BY_USERS))
+                    .sort(so -> so.field(f -> f.field("createdAt")
+                            .order(SortOrder.Desc)))
+            );
+
+            SearchResponse<Skill> resp = client.search(sr, Skill.class);
+
+            if (resp.hits() == null || resp.hits().hits().isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            return resp.hits().hits().stream()
+                    .map(h -> toResponse(h.source()))
+                    .collect(Collectors.toList());
+
+        } catch (IOException e) {
+            logger.error("OpenSearch I/O error for {} userIds: {}", userIds.size(), e.getMessage(), e);
+            throw new SearchServiceException("Failed to fetch skills for users", e);
+        } catch (Exception e) {
+            logger.error("Error fetching skills for {} userIds: {}", userIds.size(), e.getMessage(), e);
+            throw new SearchServiceException("Failed to fetch user skills", e);
+        }
+    }
+
+    // Admin counts by status, level and top teachers from aggregations; no documents are loaded
+    public Map<String, Object> getStats(int topTeachers) {
+        return guarded(() -> queryStats(topTeachers));
+    }
+
+    private Map<String, Object> queryStats(int topTeachers) {
+        try {
+            SearchRequest sr = SearchRequest.of(s -> s
+                    .index(index)
+                    .size(0)
+                    .trackTotalHits(t -> t.enabled(true))
+                    .aggregations("status", a -> a.terms(t -> t.field("status").size(10)))
+                    .aggregations("level", a -> a.terms(t -> t.field("level.keyword").size(LEVEL_FACET_SIZE)))
+                    .aggregations("teachers", a -> a.terms(t -> t.field("userId").size(topTeachers)))
+            );
+            SearchResponse<Skill> resp = client.search(sr, Skill.class);
+
+            Map<String, Long> byStatus = termCounts(resp.aggregations().get("status"));
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("total", resp.hits().total() != null ? resp.hits().total().value() : 0L);
+            stats.put("active", byStatus.getOrDefault(SkillStatus.ACTIVE.name(), 0L));
+            stats.put("inactive", byStatus.getOrDefault(SkillStatus.INACTIVE.name(), 0L));
+            stats.put("byLevel", termCounts(resp.aggregations().get("level")));
+
+            Map<UUID, Long> teachers = new LinkedHashMap<>();
+            termCounts(resp.aggregations().get("teachers"))
+                    .forEach((userId, count) -> teachers.put(UUID.fromString(userId), count));
+            stats.put("topTeachers", teachers);
+            return stats;
+
+        } catch (IOException e) {
+            logger.error("OpenSearch I/O error during stats: {}", e.getMessage(), e);
+            throw new SearchServiceException("Failed to fetch skill stats", e);
+        } catch (Exception e) {
+            logger.error("Unexpected error during stats: {}", e.getMessage(), e);
+            throw new SearchServiceException("Skill stats failed", e);
+        }
+    }
+
+    private static List<FacetBucket> termBuckets(Aggregate aggregate) {
+        return aggregate.sterms().buckets().array().stream()
+                .map(b -> FacetBucket.builder()
+                        .key(b.key())
+                        .count(b.docCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    // Bucket order (count, descending) is kept
+    private static Map<String, Long> termCounts(Aggregate aggregate) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        aggregate.sterms().buckets().array().forEach(b -> counts.put(b.key(), b.docCount()));
+        return counts;
+    }
+
+    // Prefix match on the search-as-you-type subfields; second tier behind SkillSuggestService's trie
+    public List<SkillSuggestion> suggest(String prefix, int limit) {
+        return guarded(() -> querySuggest(prefix, limit));
+    }
+
+    private List<SkillSuggestion> querySuggest(String prefix, int limit) {
+        try {
+            SearchRequest sr = SearchRequest.of(s -> s
+                    .index(index)
+                    .query(q -> q.bool(b -> b
+                            .must(m -> m.multiMatch(mm -> mm
+                                    .query(prefix)
+                                    .type(TextQueryType.BoolPrefix)
+                                    .fields("title.suggest", "title.suggest._2gram", "title.suggest._3gram",
+                                            "tags.suggest", "tags.suggest._2gram", "tags.suggest._3gram")))
+                            .filter(f -> f.term(t -> t.field("status").value(FieldValue.of("ACTIVE"))))))
+                    .source(src -> src.filter(f -> f.includes("title", "tags")))
+                    .size(limit)
+            );
+
+            SearchResponse<Skill> resp = client.search(sr, Skill.class);
+            if (resp.hits() == null) {
+                return Collections.emptyList();
+            }
+
+            Map<String, SkillSuggestion> suggestions = new LinkedHashMap<>();
+            for (Hit<Skill> hit : resp.hits().hits()) {
+                Skill skill = hit.source();
+                if (skill == null) continue;
+                if (startsWordWith(skill.getTitle(), prefix)) {
+                    suggestions.putIfAbsent(skill.getTitle().toLowerCase(Locale.ROOT),
+                            SkillSuggestion.builder().text(skill.getTitle()).type("TITLE").build());
+                }
+                if (skill.getTags() != null) {
+                    skill.getTags().stream()
+                            .filter(tag -> startsWordWith(tag, prefix))
+                            .forEach(tag -> suggestions.putIfAbsent(tag.toLowerCase(Locale.ROOT),
+                                    SkillSuggestion.builder().text(tag).type("TAG").build()));
+                }
+            }
+            return suggestions.values().stream().limit(limit).collect(Collectors.toList());
+
+        } catch (IOException e) {
+            logger.error("OpenSearch I/O error during suggest: {}", e.getMessage(), e);
+            throw new SearchServiceException("Failed to fetch suggestions", e);
+        } catch (Exception e) {
+            logger.error("Unexpected error during suggest: {}", e.getMessage(), e);
+            throw new SearchServiceException("Suggest failed", e);
+        }
+    }
+
+    private static boolean startsWordWith(String text, String prefix) {
+        if (text == null) return false;
+        String lower = text.toLowerCase(Locale.ROOT);
+        return lower.startsWith(prefix) || lower.contains(" " + prefix);
+    }
+
     public List<SkillResponse> searchSkillsByQuery(String query) {
+        return cache.searchSkillsByQuery(query, () -> guarded(() -> querySkillsByQuery(query)));
+    }
+
+    private List<SkillResponse> querySkillsByQuery(String query) {
         try {
             List<Query> must = new ArrayList<>();
 
@@ -310,21 +656,7 @@ public class SkillSearchService {
             }
 
             return resp.hits().hits().stream()
-                    .map(h -> {
-                        Skill s = h.source();
-                        return SkillResponse.builder()
-                                .id(s.getId())
-                                .userId(s.getUserId())
-                                .title(s.getTitle())
-                                .description(s.getDescription())
-                                .tags(s.getTags())
-                                .level(s.getLevel())
-                                .pricePerHour(s.getPricePerHour())
-                                .status(s.getStatus() != null ? s.getStatus().name() : null)
-                                .createdAt(s.getCreatedAt())
-                                .updatedAt(s.getUpdatedAt())
-                                .build();
-                    })
+                    .map(h -> toResponse(h.source()))
                     .collect(Collectors.toList());
 
         } catch (IOException e) {
@@ -336,11 +668,27 @@ public class SkillSearchService {
         }
     }
 
+    // Every OpenSearch call goes through the breaker; while it is open this throws
+    // CallNotPermittedException without touching the network
+    private <T> T guarded(Supplier<T> call) {
+        return circuitBreaker.executeSupplier(call);
+    }
 
-
+    private SkillResponse toResponse(Skill s) {
+        return SkillResponse.builder()
+                .id(s.getId())
+                .userId(s.getUserId())
+                .providerName(s.getProviderName())
+                .providerAvatarUrl(s.getProviderAvatarUrl())
+                .providerCity(s.getProviderCity())
+                .title(s.getTitle())
+                .description(s.getDescription())
+                .tags(s.getTags())
+                .level(s.getLevel())
+                .pricePerHour(s.getPricePerHour())
+                .status(s.getStatus() != null ? s.getStatus().name() : null)
+                .createdAt(s.getCreatedAt())
+                .updatedAt(s.getUpdatedAt())
+                .build();
+    }
 }
-
-
-
-
-
@@ -2,6 +2,7 @@ package com.SkillCatalogService.skillservice.service;
 
 import com.SkillCatalogService.skillservice.DTO.SkillRequest;
 import com.SkillCatalogService.skillservice.DTO.SkillResponse;
+import com.SkillCatalogService.skillservice.config.FullTextSearchSchema;
 import com.SkillCatalogService.skillservice.config.KafkaProperties;
 import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.SkillDeletionException;
 import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.SkillNotFoundException;
@@ -9,17 +10,21 @@ import com.SkillCatalogService.skillservice.exceptionHandle.allExceprionHandles.
 import com.SkillCatalogService.skillservice.kafka.SkillEventsProducer;
 import com.SkillCatalogService.skillservice.model.Skill;
 import com.SkillCatalogService.skillservice.model.SkillStatus;
-import com.SkillCatalogService.skillservice.openSearch.SkillSearchIndexer;
 import com.SkillCatalogService.skillservice.repository.SkillRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -28,17 +33,28 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SkillService {
 
+    // Same result caps as the OpenSearch queries the DB paths stand in for
+    private static final int ALL_SKILLS_LIMIT = 100;
+    private static final int SEARCH_LIMIT = 50;
+
     private final SkillRepository repository;
-    private final SkillSearchIndexer indexer;
+    private final SkillIndexQueue indexQueue;
     private final SkillEventsProducer producer;
     private final AuthClient webClient; // Keep for validation
     private final UserClient userClient; // Add for details
+    private final ProviderProfileService providerProfileService;
     private final KafkaProperties kafkaProperties;
     private final SkillSearchService searchService;
+    private final SkillSearchCache searchCache;
+    private final ExecutorService remoteCallExecutor;
+    private final FullTextSearchSchema fullTextSearch;
 
     @Value("${kafka.topic.skill-events}")
     private String skillTopic;
 
+    @Value("${app.stats.top-teachers:50}")
+    private int topTeachersLimit;
+
     // ==================== PUBLIC METHODS ====================
 
     public List<SkillResponse> getAllSkills(String search, String level) {
@@ -53,7 +69,9 @@ public class SkillService {
 
     private List<SkillResponse> getAllSkillsFromDB(String search, String level) {
         List<Skill> skills;
-        if (search != null && !search.isEmpty()) {
+        if (search != null && !search.isEmpty() && fullTextSearch.isAvailable()) {
+            skills = repository.searchFullText(search, ALL_SKILLS_LIMIT);
+        } else if (search != null && !search.isEmpty()) {
             skills = repository.findByTitleContainingIgnoreCaseAndStatus(
                     search, SkillStatus.ACTIVE);
         } else if (level != null && !level.isEmpty()) {
@@ -71,6 +89,16 @@ public class SkillService {
         return enrichSingleResponse(toResponse(skill));
     }
 
+    // Bulk lookup for other services (e.g. booking enrichment)
+    public List<SkillResponse> getSkillsByIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return repository.findAllById(ids).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
     public List<SkillResponse> getSkillsByUserId(UUID userId) {
         List<SkillResponse> responses = executeWithFallback(
                 // OpenSearch operation
@@ -89,14 +117,19 @@ public class SkillService {
     public List<SkillResponse> searchSkills(String query) {
         log.info("Searching skills with query: {}", query);
 
-        // 1. Get skills from OpenSearch (or DB fallback)
-        List<SkillResponse> skillResults = executeWithFallback(
-                () -> searchService.searchSkillsByQuery(query),
-                () -> searchSkillsFromDB(query),
-                "searchSkills");
+        // 1. Skills from OpenSearch (or DB fallback) and 2. skills by mentor
+        // (search users -> one terms query) run in parallel
+        CompletableFuture<List<SkillResponse>> skillSearch = CompletableFuture.supplyAsync(
+                () -> executeWithFallback(
+                        () -> searchService.searchSkillsByQuery(query),
+                        () -> searchSkillsFromDB(query),
+                        "searchSkills"),
+                remoteCallExecutor);
+        CompletableFuture<List<SkillResponse>> mentorSearch = CompletableFuture.supplyAsync(
+                () -> searchSkillsByMentor(query), remoteCallExecutor);
 
-        // 2. Get skills by Mentor (Search Users -> OpenSearch Skills fallback to DB)
-        List<SkillResponse> mentorResults = searchSkillsByMentor(query);
+        List<SkillResponse> skillResults = await(skillSearch);
+        List<SkillResponse> mentorResults = await(mentorSearch);
 
         // 3. Merge results (using a Map to ensure uniqueness by ID)
         Map<UUID, SkillResponse> uniqueSkills = new HashMap<>();
@@ -114,8 +147,10 @@ public class SkillService {
 
     private List<SkillResponse> searchSkillsFromDB(String query) {
         log.info("Searching in database with query: {}", query);
-        List<Skill> skills = repository
-                .findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(query, query);
+        // Ranked GIN/trigram lookup when available; the LIKE query scans the whole table
+        List<Skill> skills = fullTextSearch.isAvailable()
+                ? repository.searchFullText(query, SEARCH_LIMIT)
+                : repository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(query, query);
 
         return skills.stream()
                 .map(this::toResponse)
@@ -136,16 +171,13 @@ public class SkillService {
 
                 log.info("Searching skills for user IDs: {}", userIds);
 
-                // For each user, fetch their skills using OpenSearch (with DB fallback)
-                for (UUID uid : userIds) {
-                    List<SkillResponse> skills = executeWithFallback(
-                            () -> searchService.getSkillsByUserId(uid),
-                            () -> repository.findAllByUserId(uid).stream()
-                                    .map(this::toResponse)
-                                    .collect(Collectors.toList()),
-                            "getSkillsByUserId-" + uid);
-                    providerMatches.addAll(skills);
-                }
+                // One terms query for all matching users, with one IN query as the fallback
+                providerMatches.addAll(executeWithFallback(
+                        () -> searchService.getSkillsByUserIds(userIds),
+                        () -> repository.findAllByUserIdIn(userIds).stream()
+                                .map(this::toResponse)
+                                .collect(Collectors.toList()),
+                        "getSkillsByUserIds"));
             } else {
                 log.info("No users found matching query '{}'", query);
             }
@@ -186,16 +218,16 @@ public class SkillService {
             skill.setTags(new ArrayList<>(req.getTags()));
         }
 
+        // Copy provider name/avatar/city onto the skill for reads and search
+        providerProfileService.stamp(skill);
+
         // Save to database
         Skill savedSkill = repository.save(skill);
         log.info("Skill created with id: {}", savedSkill.getId());
 
-        // Index in OpenSearch
-        try {
-            indexer.indexSkills(savedSkill);
-        } catch (Exception e) {
-            log.error("Failed to index skill: {}", e.getMessage());
-        }
+        // Queue for OpenSearch; written in this transaction, indexed in bulk after commit
+        indexQueue.enqueue(savedSkill.getId());
+        searchCache.invalidate();
 
         // Publish Kafka event
         try {
@@ -236,12 +268,9 @@ public class SkillService {
         Skill savedSkill = repository.save(skill);
         log.info("Skill updated: {}", savedSkill.getId());
 
-        // Re-index in OpenSearch
-        try {
-            indexer.indexSkills(savedSkill);
-        } catch (Exception e) {
-            log.error("Failed to update skill index: {}", e.getMessage());
-        }
+        // Queue re-index in OpenSearch
+        indexQueue.enqueue(savedSkill.getId());
+        searchCache.invalidate();
 
         // Publish update event
         try {
@@ -263,11 +292,10 @@ public class SkillService {
                         "Skill not found or you don't have permission to delete it"));
 
         try {
-            // Delete from OpenSearch index
-            indexer.deleteSkill(skillId);
-
-            // Delete from database
+            // Delete from database; the queued task removes the document once the row is gone
             repository.delete(skill);
+            indexQueue.enqueue(skillId);
+            searchCache.invalidate();
             log.info("Skill deleted: {}", skillId);
 
             // Publish deletion event
@@ -291,27 +319,35 @@ public class SkillService {
 
     public Map<String, Object> getSkillStats() {
         log.info("Admin fetching skill statistics");
-        Map<String, Object> stats = new HashMap<>();
+        return executeWithFallback(
+                // OpenSearch aggregations
+                () -> searchService.getStats(topTeachersLimit),
+                // Database GROUP BY fallback
+                this::getSkillStatsFromDB,
+                "getSkillStats");
+    }
 
-        List<Skill> allSkills = repository.findAll();
+    private Map<String, Object> getSkillStatsFromDB() {
+        Map<String, Object> stats = new HashMap<>();
 
         // Total counts
-        stats.put("total", allSkills.size());
-        stats.put("active", allSkills.stream()
-                .filter(s -> s.getStatus() == SkillStatus.ACTIVE)
-                .count());
-        stats.put("inactive", allSkills.stream()
-                .filter(s -> s.getStatus() == SkillStatus.INACTIVE)
-                .count());
+        Map<SkillStatus, Long> byStatus = new EnumMap<>(SkillStatus.class);
+        repository.countByStatus().forEach(row -> {
+            if (row.getTerm() != null) byStatus.put(row.getTerm(), row.getWeight());
+        });
+        stats.put("total", byStatus.values().stream().mapToLong(Long::longValue).sum());
+        stats.put("active", byStatus.getOrDefault(SkillStatus.ACTIVE, 0L));
+        stats.put("inactive", byStatus.getOrDefault(SkillStatus.INACTIVE, 0L));
 
         // Group by level
-        Map<String, Long> byLevel = allSkills.stream()
-                .collect(Collectors.groupingBy(Skill::getLevel, Collectors.counting()));
+        Map<String, Long> byLevel = new LinkedHashMap<>();
+        repository.countByLevel().forEach(row -> byLevel.put(row.getTerm(), row.getWeight()));
         stats.put("byLevel", byLevel);
 
         // Top teachers by skill count
-        Map<UUID, Long> topTeachers = allSkills.stream()
-                .collect(Collectors.groupingBy(Skill::getUserId, Collectors.counting()));
+        Map<UUID, Long> topTeachers = new LinkedHashMap<>();
+        repository.countByTeacher(PageRequest.of(0, topTeachersLimit))
+                .forEach(row -> topTeachers.put(row.getUserId(), row.getWeight()));
         stats.put("topTeachers", topTeachers);
 
         return stats;
@@ -323,6 +359,9 @@ public class SkillService {
         return SkillResponse.builder()
                 .id(skill.getId())
                 .userId(skill.getUserId())
+                .providerName(skill.getProviderName())
+                .providerAvatarUrl(skill.getProviderAvatarUrl())
+                .providerCity(skill.getProviderCity())
                 .title(skill.getTitle())
                 .description(skill.getDescription())
                 .tags(skill.getTags())
@@ -334,42 +373,19 @@ public class SkillService {
                 .build();
     }
 
+    // Provider details are stored on the skill, so this makes no downstream calls; it only
+    // covers rows the provider-profile backfill has not reached yet
     private List<SkillResponse> enrichSkillResponses(List<SkillResponse> responses) {
         if (responses == null || responses.isEmpty()) {
             return Collections.emptyList();
         }
 
-        Set<UUID> userIds = responses.stream()
-                .map(SkillResponse::getUserId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-
-        Map<UUID, String> providerNames = new HashMap<>();
-        for (UUID userId : userIds) {
-            try {
-                Map<String, Object> userDetails = userClient.getUserDetails(userId);
-                String name = null;
-                if (userDetails != null) {
-                    if (userDetails.get("displayName") != null) {
-                        name = (String) userDetails.get("displayName");
-                    } else if (userDetails.get("name") != null) {
-                        name = (String) userDetails.get("name");
-                    }
-                }
-
-                if (name == null) {
-                    name = "Mentor " + userId.toString().substring(0, 8);
-                }
-                providerNames.put(userId, name);
-            } catch (Exception e) {
-                log.error("Failed to fetch user details for {}", userId, e);
-                providerNames.put(userId, "Mentor " + userId.toString().substring(0, 8));
-            }
-        }
-
         responses.forEach(response -> {
-            String name = providerNames.getOrDefault(response.getUserId(), "Unknown Mentor");
-            response.setProviderName(name);
+            if (response.getProviderName() == null) {
+                response.setProviderName(response.getUserId() != null
+                        ? ProviderProfileService.fallbackName(response.getUserId())
+                        : "Unknown Mentor");
+            }
         });
 
         return responses;
@@ -381,6 +397,18 @@ public class SkillService {
         return enrichSkillResponses(Collections.singletonList(response)).get(0);
     }
 
+    // Rethrows what the task threw rather than the CompletionException wrapper
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     private <T> T executeWithFallback(
             Supplier<T> openSearchOperation,
             Supplier<T> databaseOperation,
@@ -388,6 +416,10 @@ public class SkillService {
         try {
             log.debug("Attempting {} via OpenSearch", operationName);
             return openSearchOperation.get();
+        } catch (CallNotPermittedException e) {
+            // Breaker is open: OpenSearch is known to be unhealthy, go straight to the database
+            log.debug("OpenSearch circuit open for {}, using database", operationName);
+            return databaseOperation.get();
         } catch (Exception e) {
             log.warn("OpenSearch failed for {}, falling back to database: {}",
                     operationName, e.getMessage());
@@ -0,0 +1,137 @@
+package com.SkillCatalogService.skillservice.service;
+
+import com.SkillCatalogService.skillservice.DTO.SkillSuggestion;
+import com.SkillCatalogService.skillservice.model.SkillStatus;
+import com.SkillCatalogService.skillservice.repository.SkillRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Typeahead for skill titles and tags. The first tier is an in-process {@link SuggestionTrie}
+ * of the most used active titles and tags, rebuilt whenever a skill event arrives; it answers
+ * without any I/O. Only when the trie is incomplete (more distinct terms than
+ * {@code app.suggest.max-terms}) and has too few matches does a prefix query go to the
+ * {@code *.suggest} search-as-you-type fields in OpenSearch.
+ */
+@Service
+@Slf4j
+public class SkillSuggestService {
+
+    private final SkillRepository repository;
+    private final SkillSearchService searchService;
+    private final MeterRegistry meterRegistry;
+    private final int maxTerms;
+    private final int topK;
+    private final Duration maxAge;
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile SuggestionTrie trie = SuggestionTrie.EMPTY;
+    private volatile boolean complete;
+    private volatile long builtAt;
+
+    public SkillSuggestService(SkillRepository repository,
+                               SkillSearchService searchService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.suggest.max-terms:20000}") int maxTerms,
+                               @Value("${app.suggest.top-k:10}") int topK,
+                               @Value("${app.suggest.max-age:10m}") Duration maxAge) {
+        this.repository = repository;
+        this.searchService = searchService;
+        this.meterRegistry = meterRegistry;
+        this.maxTerms = maxTerms;
+        this.topK = topK;
+        this.maxAge = maxAge;
+    }
+
+    public List<SkillSuggestion> suggest(String prefix, int limit) {
+        String normalized = SuggestionTrie.normalize(prefix);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int size = Math.max(1, Math.min(limit, topK));
+
+        List<SkillSuggestion> local = trie.lookup(normalized, size);
+        if (local.size() >= size || complete) {
+            meterRegistry.counter("skills.suggest.requests", "tier", "trie").increment();
+            return local;
+        }
+
+        meterRegistry.counter("skills.suggest.requests", "tier", "opensearch").increment();
+        Map<String, SkillSuggestion> merged = new LinkedHashMap<>();
+        local.forEach(s -> merged.put(SuggestionTrie.normalize(s.getText()), s));
+        try {
+            for (SkillSuggestion s : searchService.suggest(normalized, size)) {
+                merged.putIfAbsent(SuggestionTrie.normalize(s.getText()), s);
+            }
+        } catch (Exception e) {
+            log.warn("OpenSearch suggest failed, returning local matches only: {}", e.getMessage());
+        }
+        return merged.values().stream().limit(size).toList();
+    }
+
+    // Called for every skill create/update/delete event; the next refresh rebuilds the trie.
+    // The first refresh runs at startup since the trie starts out stale
+    public void markStale() {
+        stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.suggest.refresh-interval-ms:5000}")
+    public void refresh() {
+        boolean expired = System.currentTimeMillis() - builtAt > maxAge.toMillis();
+        if (!stale.getAndSet(false) && !expired) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            stale.set(true);
+            log.warn("Failed to rebuild suggest trie: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+        PageRequest top = PageRequest.of(0, maxTerms);
+        List<SkillRepository.TermCountView> titles = repository.countTitles(SkillStatus.ACTIVE, top);
+        List<SkillRepository.TermCountView> tags = repository.countTags(SkillStatus.ACTIVE, top);
+
+        // Case variants of the same term are merged, keeping the most common spelling
+        Map<String, Long> weights = new HashMap<>();
+        Map<String, SkillSuggestion> terms = new HashMap<>();
+        collect(titles, "TITLE", weights, terms);
+        collect(tags, "TAG", weights, terms);
+
+        List<SkillSuggestion> byWeight = terms.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<String, SkillSuggestion> e) -> weights.get(e.getKey()))
+                        .reversed())
+                .map(Map.Entry::getValue)
+                .toList();
+
+        trie = SuggestionTrie.build(byWeight, topK);
+        complete = titles.size() < maxTerms && tags.size() < maxTerms;
+        builtAt = System.currentTimeMillis();
+        log.debug("Suggest trie rebuilt with {} terms (complete: {})", byWeight.size(), complete);
+    }
+
+    private static void collect(List<SkillRepository.TermCountView> rows, String type,
+                                Map<String, Long> weights, Map<String, SkillSuggestion> terms) {
+        for (SkillRepository.TermCountView row : rows) {
+            String key = type + ":" + SuggestionTrie.normalize(row.getTerm());
+            if (row.getTerm() == null || key.length() == type.length() + 1) {
+                continue;
+            }
+            weights.merge(key, row.getWeight(), Long::sum);
+            terms.putIfAbsent(key, SkillSuggestion.builder()
+                    .text(row.getTerm().trim())
+                    .type(type)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.SkillCatalogService.skillservice.service;
+
+import com.SkillCatalogService.skillservice.DTO.SkillSuggestion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable prefix trie over suggestion terms. Each term is reachable from the start of
+ * every word in it ("spring boot" answers both "spr" and "boo"), and every node keeps
+ * only its {@code topK} heaviest terms, so a lookup is a walk down the prefix with no
+ * sorting or scanning.
+ */
+final class SuggestionTrie {
+
+    static final SuggestionTrie EMPTY = new SuggestionTrie(new Node());
+
+    private final Node root;
+
+    private SuggestionTrie(Node root) {
+        this.root = root;
+    }
+
+    // Terms must be ordered by weight, heaviest first; a node fills up with the first topK it sees
+    static SuggestionTrie build(List<SkillSuggestion> termsByWeight, int topK) {
+        Node root = new Node();
+        for (SkillSuggestion term : termsByWeight) {
+            String text = normalize(term.getText());
+            for (int start = 0; start < text.length(); start++) {
+                if (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+                    continue; // only index from word starts
+                }
+                Node node = root;
+                for (int i = start; i < text.length(); i++) {
+                    node = node.children.computeIfAbsent(text.charAt(i), c -> new Node());
+                    if (node.top.size() < topK && !node.top.contains(term)) {
+                        node.top.add(term);
+                    }
+                }
+            }
+        }
+        return new SuggestionTrie(root);
+    }
+
+    List<SkillSuggestion> lookup(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return node.top.subList(0, Math.min(limit, node.top.size()));
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<SkillSuggestion> top = new ArrayList<>(2);
+    }
+}
@@ -1,5 +1,6 @@
 package com.SkillCatalogService.skillservice.service;
 
+import com.SkillCatalogService.skillservice.security.ServiceTokenFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -8,7 +9,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -23,6 +26,9 @@ public class UserClient {
     @Value("${user.profile.url}")
     private String userProfileUrl;
 
+    @Value("${app.service-token:}")
+    private String serviceToken;
+
     @SuppressWarnings("unchecked")
     public Map<String, Object> getUserDetails(UUID userId) {
         try {
@@ -41,6 +47,28 @@ public class UserClient {
         }
     }
 
+    // One call for many profiles, keyed by userId; users without a profile are absent
+    @SuppressWarnings("unchecked")
+    public Map<UUID, Map<String, Object>> getUserDetails(Collection<UUID> userIds) {
+        Map<UUID, Map<String, Object>> byId = new HashMap<>();
+        try {
+            List<Map<String, Object>> profiles = webClientBuilder.build()
+                    .post()
+                    .uri(userProfileUrl + "/api/users/batch")
+                    .header(ServiceTokenFilter.HEADER, serviceToken)
+                    .bodyValue(userIds)
+                    .retrieve()
+                    .bodyToMono(List.class)
+                    .block();
+            if (profiles != null) {
+                profiles.forEach(p -> byId.put(UUID.fromString(String.valueOf(p.get("userId"))), p));
+            }
+        } catch (Exception e) {
+            log.error("Failed to fetch user details for {} users. Error: {}", userIds.size(), e.getMessage());
+        }
+        return byId;
+    }
+
     @SuppressWarnings("unchecked")
     public List<Map<String, Object>> searchUsers(String keyword) {
         try {
@@ -0,0 +1,33 @@
+-- Full-text objects for the skill search DB fallback (see FullTextSearchSchema).
+-- Run once per database, outside a transaction and off-peak, e.g.
+--   psql -v ON_ERROR_STOP=1 -f full-text-search.sql
+-- The generated column rewrites the skills table under an ACCESS EXCLUSIVE lock;
+-- the indexes are built CONCURRENTLY so writes keep flowing while they build.
+-- The service enables full-text search only once the column exists and both indexes are valid.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE skills ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- A failed concurrent build leaves an INVALID index behind that IF NOT EXISTS would skip:
+-- move it aside and drop it so the build is retried
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+               WHERE c.relname = 'idx_skills_search_vector' AND NOT i.indisvalid) THEN
+        ALTER INDEX idx_skills_search_vector RENAME TO idx_skills_search_vector_invalid;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+               WHERE c.relname = 'idx_skills_title_trgm' AND NOT i.indisvalid) THEN
+        ALTER INDEX idx_skills_title_trgm RENAME TO idx_skills_title_trgm_invalid;
+    END IF;
+END $$;
+DROP INDEX CONCURRENTLY IF EXISTS idx_skills_search_vector_invalid;
+DROP INDEX CONCURRENTLY IF EXISTS idx_skills_title_trgm_invalid;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_skills_search_vector ON skills USING GIN (search_vector);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_skills_title_trgm ON skills USING GIN (title gin_trgm_ops);
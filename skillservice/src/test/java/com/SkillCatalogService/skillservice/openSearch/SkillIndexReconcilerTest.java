@@ -0,0 +1,63 @@
+package com.SkillCatalogService.skillservice.openSearch;
+
+import com.SkillCatalogService.skillservice.repository.SkillRepository;
+import com.SkillCatalogService.skillservice.service.SkillIndexQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SkillIndexReconcilerTest {
+
+    @Mock
+    private SkillRepository skillRepository;
+    @Mock
+    private SkillSearchIndexer indexer;
+    @Mock
+    private SkillIndexQueue queue;
+
+    private SkillIndexReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new SkillIndexReconciler(skillRepository, indexer, queue);
+        ReflectionTestUtils.setField(reconciler, "orphanScanPageSize", 2);
+    }
+
+    @Test
+    void documentsWithoutASkillRowAreQueuedPageByPage() throws IOException {
+        UUID kept = new UUID(0L, 1L);
+        UUID orphan = new UUID(0L, 2L);
+        UUID lastOrphan = new UUID(0L, 3L);
+        when(indexer.scanDocumentIds(null, 2)).thenReturn(List.of(kept, orphan));
+        when(indexer.scanDocumentIds(orphan, 2)).thenReturn(List.of(lastOrphan));
+        when(skillRepository.findExistingIds(List.of(kept, orphan))).thenReturn(List.of(kept));
+        when(skillRepository.findExistingIds(List.of(lastOrphan))).thenReturn(List.of());
+
+        reconciler.sweepOrphans();
+
+        verify(queue).enqueueAll(List.of(orphan));
+        verify(queue).enqueueAll(List.of(lastOrphan));
+    }
+
+    @Test
+    void sweepStopsWhenOpenSearchIsUnavailable() throws IOException {
+        when(indexer.scanDocumentIds(null, 2)).thenThrow(new IOException("connection refused"));
+
+        reconciler.sweepOrphans();
+
+        verify(queue, never()).enqueueAll(any());
+    }
+}
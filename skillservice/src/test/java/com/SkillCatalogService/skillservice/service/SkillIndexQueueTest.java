@@ -0,0 +1,147 @@
+package com.SkillCatalogService.skillservice.service;
+
+import com.SkillCatalogService.skillservice.event.SkillIndexQueuedEvent;
+import com.SkillCatalogService.skillservice.model.SkillIndexDeadLetter;
+import com.SkillCatalogService.skillservice.model.SkillIndexTask;
+import com.SkillCatalogService.skillservice.repository.SkillIndexDeadLetterRepository;
+import com.SkillCatalogService.skillservice.repository.SkillIndexTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SkillIndexQueueTest {
+
+    @Mock
+    private SkillIndexTaskRepository taskRepository;
+    @Mock
+    private SkillIndexDeadLetterRepository deadLetterRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SkillIndexQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new SkillIndexQueue(taskRepository, deadLetterRepository, eventPublisher);
+        ReflectionTestUtils.setField(queue, "lease", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(queue, "maxAttempts", 3);
+        ReflectionTestUtils.setField(queue, "backoffInitial", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(queue, "backoffMax", Duration.ofMinutes(10));
+    }
+
+    private static SkillIndexTask task(UUID skillId, long revision, int attempts) {
+        return SkillIndexTask.builder()
+                .skillId(skillId)
+                .revision(revision)
+                .attempts(attempts)
+                .nextAttemptAt(Instant.now())
+                .lockedUntil(Instant.now().plusSeconds(60))
+                .enqueuedAt(Instant.now())
+                .build();
+    }
+
+    @Test
+    void enqueueUpsertsOneRowPerSkillAndWakesTheWorker() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        queue.enqueueAll(List.of(first, second));
+
+        verify(taskRepository).enqueue(first);
+        verify(taskRepository).enqueue(second);
+        verify(eventPublisher).publishEvent(any(SkillIndexQueuedEvent.class));
+    }
+
+    @Test
+    void completeDeletesOnlyTheRevisionThatWasIndexed() {
+        SkillIndexTask unchanged = task(UUID.randomUUID(), 4, 0);
+        SkillIndexTask changedInFlight = task(UUID.randomUUID(), 7, 0);
+
+        queue.complete(List.of(unchanged, changedInFlight));
+
+        // A row bumped to a newer revision does not match, so it survives with its lease released
+        verify(taskRepository).deleteIfUnchanged(unchanged.getSkillId(), 4);
+        verify(taskRepository).deleteIfUnchanged(changedInFlight.getSkillId(), 7);
+        verify(taskRepository).release(List.of(unchanged.getSkillId(), changedInFlight.getSkillId()));
+    }
+
+    @Test
+    void failureOfAnOutdatedRevisionKeepsTheFreshRetryState() {
+        UUID skillId = UUID.randomUUID();
+        SkillIndexTask claimed = task(skillId, 1, 0);
+        SkillIndexTask current = task(skillId, 2, 0);
+        Instant due = current.getNextAttemptAt();
+        when(taskRepository.findAllById(List.of(skillId))).thenReturn(List.of(current));
+
+        queue.fail(Map.of(claimed, "timeout"));
+
+        assertThat(current.getLockedUntil()).isNull();
+        assertThat(current.getAttempts()).isZero();
+        assertThat(current.getLastError()).isNull();
+        assertThat(current.getNextAttemptAt()).isEqualTo(due);
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void failureOfTheCurrentRevisionIsRetriedWithBackoff() {
+        UUID skillId = UUID.randomUUID();
+        SkillIndexTask claimed = task(skillId, 3, 1);
+        SkillIndexTask current = task(skillId, 3, 1);
+        when(taskRepository.findAllById(List.of(skillId))).thenReturn(List.of(current));
+
+        Instant before = Instant.now();
+        queue.fail(Map.of(claimed, "timeout"));
+
+        assertThat(current.getLockedUntil()).isNull();
+        assertThat(current.getAttempts()).isEqualTo(2);
+        assertThat(current.getLastError()).isEqualTo("timeout");
+        // Second attempt: 2s * 2 +-20%
+        assertThat(current.getNextAttemptAt()).isBetween(before.plusMillis(3_200), before.plusMillis(5_000));
+    }
+
+    @Test
+    void taskOutOfAttemptsIsDeadLettered() {
+        UUID skillId = UUID.randomUUID();
+        SkillIndexTask claimed = task(skillId, 5, 2);
+        SkillIndexTask current = task(skillId, 5, 2);
+        when(taskRepository.findAllById(List.of(skillId))).thenReturn(List.of(current));
+
+        queue.fail(Map.of(claimed, "mapping error"));
+
+        ArgumentCaptor<SkillIndexDeadLetter> deadLetter = ArgumentCaptor.forClass(SkillIndexDeadLetter.class);
+        verify(deadLetterRepository).save(deadLetter.capture());
+        assertThat(deadLetter.getValue().getSkillId()).isEqualTo(skillId);
+        assertThat(deadLetter.getValue().getAttempts()).isEqualTo(3);
+        assertThat(deadLetter.getValue().getLastError()).isEqualTo("mapping error");
+        verify(taskRepository).delete(current);
+    }
+
+    @Test
+    void failureOfATaskAlreadyCompletedElsewhereIsIgnored() {
+        SkillIndexTask claimed = task(UUID.randomUUID(), 1, 0);
+        when(taskRepository.findAllById(List.of(claimed.getSkillId()))).thenReturn(List.of());
+
+        queue.fail(Map.of(claimed, "timeout"));
+
+        verify(deadLetterRepository, never()).save(any());
+        verify(taskRepository, never()).delete(any());
+    }
+}
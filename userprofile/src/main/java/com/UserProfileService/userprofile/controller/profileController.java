@@ -6,6 +6,7 @@ import com.UserProfileService.userprofile.DTO.UpdateProfileDto;
 import com.UserProfileService.userprofile.service.CloudinaryService;
 import com.UserProfileService.userprofile.service.ProfileService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +24,9 @@ public class profileController {
     private final ProfileService profileService;
     private final CloudinaryService cloudinaryService;
 
+    @Value("${app.batch.max-ids:500}")
+    private int maxBatchSize;
+
     @PostMapping
     public ResponseEntity<?> create(@RequestBody CreateProfileDto dto, Authentication authentication) {
 
@@ -74,6 +78,14 @@ public class profileController {
         return ResponseEntity.ok(profileService.searchProfiles(keyword, city, isProvider));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProfileDto>> getProfilesByIds(@RequestBody List<UUID> userIds) {
+        if (userIds != null && userIds.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(profileService.getProfilesByUserIds(userIds));
+    }
+
     @GetMapping("/{id}/exists")
     public ResponseEntity<Boolean> userExists(@PathVariable UUID id) {
         boolean exists = profileService.validateUser(id);
@@ -0,0 +1,19 @@
+package com.UserProfileService.userprofile.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Carries the profile fields other services copy into their own read models
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserProfileUpdatedEvent {
+    private UUID userId;
+    private String displayName;
+    private String avatarUrl;
+    private String city;
+    private long timestamp;
+}
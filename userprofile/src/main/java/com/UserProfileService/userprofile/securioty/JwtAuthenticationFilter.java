@@ -74,6 +74,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         log.debug(" JWT filter running for: {} {}", request.getMethod(), request.getRequestURI());
 
+        // Already authenticated as a calling service
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         try {
             String jwt = getJwtFromRequest(request);
 
@@ -0,0 +1,46 @@
+package com.UserProfileService.userprofile.securioty;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates calls from other platform services, which carry no user JWT, by the
+ * shared {@code app.service-token} in the {@value #HEADER} header. Such calls get
+ * {@code ROLE_SERVICE}; anything without a matching token is left to the JWT filter.
+ */
+@Component
+public class ServiceTokenFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Service-Token";
+
+    @Value("${app.service-token:}")
+    private String serviceToken;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String presented = request.getHeader(HEADER);
+        if (StringUtils.hasText(serviceToken) && StringUtils.hasText(presented)
+                && MessageDigest.isEqual(serviceToken.getBytes(StandardCharsets.UTF_8),
+                presented.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "service", null, List.of(new SimpleGrantedAuthority("ROLE_SERVICE"))));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
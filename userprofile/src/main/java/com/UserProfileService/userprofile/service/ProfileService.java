@@ -4,6 +4,7 @@ import com.UserProfileService.userprofile.DTO.CreateProfileDto;
 import com.UserProfileService.userprofile.DTO.ProfileDto;
 import com.UserProfileService.userprofile.DTO.UpdateProfileDto;
 import com.UserProfileService.userprofile.event.UserDeletedEvent;
+import com.UserProfileService.userprofile.event.UserProfileUpdatedEvent;
 import com.UserProfileService.userprofile.event.UserRegisteredEvent;
 import com.UserProfileService.userprofile.exceptionHandle.allExceprionHandles.ProfileNotFoundException;
 import com.UserProfileService.userprofile.exceptionHandle.allExceprionHandles.UserAlreadyExistsException;
@@ -33,6 +34,9 @@ public class ProfileService {
     @Value("${kafka.topic.user-registered}")
     private String userRegisteredTopic;
 
+    @Value("${kafka.topic.user-profile-updated}")
+    private String userProfileUpdatedTopic;
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final UserProfileRepository userProfileRepository;
     private final AuthClient webClient;
@@ -73,6 +77,7 @@ public class ProfileService {
             // Log error but don't fail profile creation
             System.err.println("Failed to send UserRegisteredEvent: " + e.getMessage());
         }
+        publishProfileUpdated(savedProfile);
 
         return userProfileMapper.toDto(savedProfile);
 
@@ -85,6 +90,10 @@ public class ProfileService {
         UserProfile userProfile = userProfileRepository.findByUserId(userId)
                 .orElseThrow(ProfileNotFoundException::new);
 
+        boolean publicFieldsChanged =
+                (dto.displayName() != null && !dto.displayName().equals(userProfile.getDisplayName()))
+                        || (dto.city() != null && !dto.city().equals(userProfile.getCity()));
+
         if (dto.displayName() != null)
             userProfile.setDisplayName(dto.displayName());
         if (dto.bio() != null)
@@ -100,7 +109,11 @@ public class ProfileService {
         if (dto.isProvider() != null)
             userProfile.setProvider(dto.isProvider());
 
-        return userProfileMapper.toDto(userProfileRepository.save(userProfile));
+        UserProfile savedProfile = userProfileRepository.save(userProfile);
+        if (publicFieldsChanged) {
+            publishProfileUpdated(savedProfile);
+        }
+        return userProfileMapper.toDto(savedProfile);
 
     }
 
@@ -113,7 +126,25 @@ public class ProfileService {
                 .orElseThrow(ProfileNotFoundException::new);
 
         p.setAvatarUrl(avatarUrl);
-        return userProfileMapper.toDto(userProfileRepository.save(p));
+        UserProfile savedProfile = userProfileRepository.save(p);
+        publishProfileUpdated(savedProfile);
+        return userProfileMapper.toDto(savedProfile);
+    }
+
+    // Lets other services refresh the name, avatar and city they store alongside their own data
+    private void publishProfileUpdated(UserProfile profile) {
+        try {
+            UserProfileUpdatedEvent event = new UserProfileUpdatedEvent(
+                    profile.getUserId(),
+                    profile.getDisplayName(),
+                    profile.getAvatarUrl(),
+                    profile.getCity(),
+                    System.currentTimeMillis());
+            kafkaTemplate.send(userProfileUpdatedTopic, profile.getUserId().toString(), event);
+        } catch (Exception e) {
+            // Log error but don't fail the profile update
+            System.err.println("Failed to send UserProfileUpdatedEvent: " + e.getMessage());
+        }
     }
 
 
@@ -167,4 +198,12 @@ public class ProfileService {
         return userProfileMapper.toDto(userProfile);
     }
 
+    public List<ProfileDto> getProfilesByUserIds(List<UUID> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return userProfileRepository.findAllByUserIdIn(userIds).stream()
+                .map(userProfileMapper::toDto).toList();
+    }
+
 }